@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Drives the running service with `hey` (https://github.com/rakyll/hey) and prints throughput and
+# latency percentiles. Run it once against the default (reactive) build and once after starting the
+# service with SPRING_PROFILES_ACTIVE=imperative on JDK 21.
+#   PRODUCT_ID=<existing catalog product> scripts/load-test.sh
+set -euo pipefail
+
+BASE_URL=${BASE_URL:-http://localhost:9002}
+REQUESTS=${REQUESTS:-20000}
+CONCURRENCY=${CONCURRENCY:-200}
+PRODUCT_ID=${PRODUCT_ID:?PRODUCT_ID must be set}
+
+echo "== POST /orders"
+hey -n "$REQUESTS" -c "$CONCURRENCY" -m POST -T application/json \
+  -d "{\"productId\": \"$PRODUCT_ID\", \"quantity\": 1}" "$BASE_URL/orders" |
+  grep -E 'Requests/sec|50%|90%|99%'
+
+ORDER_ID=$(curl -s -X POST -H 'Content-Type: application/json' \
+  -d "{\"productId\": \"$PRODUCT_ID\", \"quantity\": 1}" "$BASE_URL/orders" | sed -E 's/.*"id":"([^"]+)".*/\1/')
+
+echo "== GET /orders/$ORDER_ID"
+hey -n "$REQUESTS" -c "$CONCURRENCY" "$BASE_URL/orders/$ORDER_ID" |
+  grep -E 'Requests/sec|50%|90%|99%'
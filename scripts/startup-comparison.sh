@@ -0,0 +1,37 @@
+#!/usr/bin/env bash
+# Compares startup time and resident memory of the JVM and the native build.
+# Requires a reachable MongoDB (SPRING_DATA_MONGODB_URI) and both artifacts:
+#   ./gradlew bootJar nativeCompile
+set -euo pipefail
+
+JAR=$(ls build/libs/order-service-*-SNAPSHOT.jar | grep -v plain | head -n 1)
+NATIVE=build/native/nativeCompile/order-service
+
+measure() {
+  local name=$1
+  shift
+  local log
+  log=$(mktemp)
+  local start
+  start=$(date +%s%N)
+  "$@" >"$log" 2>&1 &
+  local pid=$!
+  until grep -q "Started OrderServiceApplication" "$log"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      cat "$log"
+      exit 1
+    fi
+    sleep 0.05
+  done
+  local elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+  local rss
+  rss=$(ps -o rss= -p "$pid")
+  printf '%-8s startup: %6d ms   rss: %6d KiB   (%s)\n' "$name" "$elapsed" "$rss" \
+    "$(grep -o 'Started OrderServiceApplication in [0-9.]* seconds' "$log")"
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  rm -f "$log"
+}
+
+measure jvm java -jar "$JAR"
+measure native "$NATIVE"
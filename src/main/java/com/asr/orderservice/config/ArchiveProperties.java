@@ -0,0 +1,31 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.archive")
+public record ArchiveProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Terminal orders untouched for longer than this are moved to the archive.
+        @DefaultValue("30d")
+        Duration minAge,
+
+        @DefaultValue("500")
+        int batchSize,
+
+        // Pause between two batches, so the archiver never saturates Mongo.
+        @DefaultValue("200ms")
+        Duration batchPause,
+
+        @DefaultValue("1h")
+        Duration interval,
+
+        // Archived REJECTED orders expire after this. Zero keeps them forever.
+        @DefaultValue("0s")
+        Duration rejectedTtl
+) {
+}
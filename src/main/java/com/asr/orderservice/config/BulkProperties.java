@@ -0,0 +1,12 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "store.bulk")
+public record BulkProperties(
+        // Orders transitioned per transaction by the bulk jobs.
+        @DefaultValue("500")
+        int chunkSize
+) {
+}
@@ -1,5 +1,7 @@
 package com.asr.orderservice.config;
 
+import com.asr.orderservice.fault.FaultInjector;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -7,8 +9,13 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Configuration
 public class ClientConfig {
     @Bean
-    WebClient webClient(ClientProperties clientProperties, WebClient.Builder builder) {
-        return builder
+    WebClient webClient(ClientProperties clientProperties, WebClient.Builder builder,
+                        ObjectProvider<FaultInjector> faultInjector) {
+        // The injected builder is left as it is, so the catalog filter cannot end up on any other WebClient.
+        var catalogBuilder = builder.clone();
+        // Only present with the fault-injection profile.
+        faultInjector.ifAvailable(injector -> catalogBuilder.filter(injector.catalogFilter()));
+        return catalogBuilder
                 .baseUrl(clientProperties.catalogServiceUri().toString())
                 .build();
     }
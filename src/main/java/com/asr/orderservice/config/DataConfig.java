@@ -1,9 +1,41 @@
 package com.asr.orderservice.config;
 
+import com.mongodb.TransactionOptions;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
 import org.springframework.data.mongodb.config.EnableReactiveMongoAuditing;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
 
 @Configuration
 @EnableReactiveMongoAuditing
 public class DataConfig {
+
+    // Replaces the auto-configured template only to resolve the write concern per order status.
+    @Bean
+    ReactiveMongoTemplate reactiveMongoTemplate(ReactiveMongoDatabaseFactory databaseFactory, MongoConverter converter,
+                                                WriteDurability writeDurability) {
+        var template = new ReactiveMongoTemplate(databaseFactory, converter);
+        template.setWriteConcernResolver(writeDurability);
+        return template;
+    }
+
+    // Orders and their outbox events are written in one transaction, which needs a replica set.
+    @Bean
+    ReactiveMongoTransactionManager transactionManager(ReactiveMongoDatabaseFactory databaseFactory,
+                                                       WriteDurability writeDurability) {
+        var options = TransactionOptions.builder()
+                .writeConcern(writeDurability.durableWriteConcern())
+                .build();
+        return new ReactiveMongoTransactionManager(databaseFactory, options);
+    }
+
+    @Bean
+    TransactionalOperator transactionalOperator(ReactiveTransactionManager transactionManager) {
+        return TransactionalOperator.create(transactionManager);
+    }
 }
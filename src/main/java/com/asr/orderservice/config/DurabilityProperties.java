@@ -0,0 +1,29 @@
+package com.asr.orderservice.config;
+
+import com.asr.orderservice.domain.OrderStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Set;
+
+@ConfigurationProperties(prefix = "store.durability")
+public record DurabilityProperties(
+        // Write concern of orders that move money or stock, a number of nodes or "majority".
+        @DefaultValue("majority")
+        String durableW,
+
+        @DefaultValue("true")
+        boolean durableJournal,
+
+        // Write concern of orders that are kept only as an audit record.
+        @DefaultValue("1")
+        String auditW,
+
+        @DefaultValue("false")
+        boolean auditJournal,
+
+        // Every other status is written with the durable write concern.
+        @DefaultValue("REJECTED")
+        Set<OrderStatus> auditStatuses
+) {
+}
@@ -0,0 +1,14 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.event-loop-monitor")
+public record EventLoopMonitorProperties(
+        // Every event loop is probed at this rate.
+        @DefaultValue("1s")
+        Duration interval
+) {
+}
@@ -0,0 +1,30 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.export")
+public record ExportProperties(
+        // The watermark is a local file, so only one instance may export.
+        @DefaultValue("false")
+        boolean enabled,
+
+        // Snapshot files and the watermark of the last exported range are kept here.
+        @DefaultValue("exports")
+        Path directory,
+
+        // Orders created within one range end up in one snapshot file.
+        @DefaultValue("1h")
+        Duration rangeSize,
+
+        // A range is exported only once it ended this long ago, so no late insert is missed.
+        @DefaultValue("5m")
+        Duration settleTime,
+
+        @DefaultValue("1h")
+        Duration interval
+) {
+}
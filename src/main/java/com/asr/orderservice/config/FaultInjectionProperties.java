@@ -0,0 +1,48 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+// Faults injected with the fault-injection profile until they are changed at runtime.
+@ConfigurationProperties(prefix = "store.fault-injection")
+public record FaultInjectionProperties(
+        @DefaultValue
+        Faults catalog,
+
+        @DefaultValue
+        Faults mongo
+) {
+    public record Faults(
+            @DefaultValue("false")
+            boolean enabled,
+
+            // Every call is delayed by this, plus an exponentially distributed jitter of the given mean.
+            @DefaultValue("0ms")
+            Duration latency,
+
+            @DefaultValue("0ms")
+            Duration jitter,
+
+            // Share of calls that fail after the delay.
+            @DefaultValue("0")
+            double errorRate,
+
+            // Share of calls that hang for stallDuration, instead of latency and jitter, before going through.
+            @DefaultValue("0")
+            double stallRate,
+
+            @DefaultValue("10s")
+            Duration stallDuration
+    ) {
+        public Faults {
+            if (!(errorRate >= 0 && errorRate <= 1 && stallRate >= 0 && stallRate <= 1)) {
+                throw new IllegalArgumentException("Error and stall rates must be between 0 and 1.");
+            }
+            if (latency.isNegative() || jitter.isNegative() || stallDuration.isNegative()) {
+                throw new IllegalArgumentException("Latency, jitter and stall duration must not be negative.");
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.flight-recording")
+public record FlightRecordingProperties(
+        // Where dumped recordings are written.
+        @DefaultValue("recordings")
+        Path directory,
+
+        // Bounds of the on-demand recording, older data is discarded first.
+        @DefaultValue("10m")
+        Duration maxAge,
+
+        @DefaultValue("100MB")
+        DataSize maxSize
+) {
+}
@@ -0,0 +1,94 @@
+package com.asr.orderservice.config;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.TransactionOptions;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.springframework.boot.autoconfigure.mongo.MongoProperties;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Infrastructure of the opt-in blocking execution model, see BlockingOrderService.
+// The synchronous Mongo client is only built here, its auto-configuration is excluded in OrderServiceApplication.
+@Configuration
+@Profile("imperative")
+@EnableMongoAuditing
+public class ImperativeConfig {
+
+    // Disposing the scheduler also shuts its executor down.
+    @Bean(destroyMethod = "dispose")
+    Scheduler blockingScheduler(ImperativeProperties imperativeProperties) {
+        return Schedulers.fromExecutorService(newBlockingExecutor(imperativeProperties.maxThreads()), "blocking");
+    }
+
+    @Bean(destroyMethod = "close")
+    MongoClient blockingMongoClient(MongoProperties mongoProperties) {
+        return MongoClients.create(new ConnectionString(mongoProperties.determineUri()));
+    }
+
+    @Bean
+    MongoDatabaseFactory blockingDatabaseFactory(MongoClient blockingMongoClient, MongoProperties mongoProperties) {
+        return new SimpleMongoClientDatabaseFactory(blockingMongoClient, mongoProperties.getMongoClientDatabase());
+    }
+
+    // Shares the mapping and the write concerns of the reactive template, so both models read and write
+    // the same documents with the same durability.
+    @Bean
+    MongoTemplate mongoTemplate(MongoDatabaseFactory blockingDatabaseFactory, MongoConverter mongoConverter,
+                                WriteDurability writeDurability) {
+        var template = new MongoTemplate(blockingDatabaseFactory, mongoConverter);
+        template.setWriteConcernResolver(writeDurability);
+        return template;
+    }
+
+    @Bean
+    MongoTransactionManager blockingTransactionManager(MongoDatabaseFactory blockingDatabaseFactory,
+                                                       WriteDurability writeDurability) {
+        var options = TransactionOptions.builder()
+                .writeConcern(writeDurability.durableWriteConcern())
+                .build();
+        return new MongoTransactionManager(blockingDatabaseFactory, options);
+    }
+
+    @Bean
+    TransactionTemplate blockingTransactionTemplate(MongoTransactionManager blockingTransactionManager) {
+        return new TransactionTemplate(blockingTransactionManager);
+    }
+
+    // Same timeout as the WebClient lookups of ProductClient.
+    @Bean
+    RestTemplate blockingRestTemplate(ClientProperties clientProperties) {
+        return new RestTemplateBuilder()
+                .rootUri(clientProperties.catalogServiceUri().toString())
+                .setConnectTimeout(Duration.ofSeconds(3))
+                .setReadTimeout(Duration.ofSeconds(3))
+                .build();
+    }
+
+    private static ExecutorService newBlockingExecutor(int maxThreads) {
+        try {
+            var newVirtualThreadPerTaskExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) newVirtualThreadPerTaskExecutor.invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            // Virtual threads need JDK 21, older runtimes get a bounded pool of platform threads instead.
+            // Requests beyond the pool size wait in its queue.
+            return Executors.newFixedThreadPool(maxThreads);
+        }
+    }
+}
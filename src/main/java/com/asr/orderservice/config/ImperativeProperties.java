@@ -0,0 +1,12 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "store.imperative")
+public record ImperativeProperties(
+        // Upper bound of request threads when virtual threads are not available.
+        @DefaultValue("200")
+        int maxThreads
+) {
+}
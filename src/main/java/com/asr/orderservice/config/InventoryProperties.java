@@ -0,0 +1,23 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.inventory")
+public record InventoryProperties(
+        // Reserve against units leased from Catalog Service. Needs its lease and return endpoints, without
+        // them every order checks the stock of the product instead.
+        @DefaultValue("false")
+        boolean leasing,
+
+        // Number of units leased from Catalog Service at once for a product.
+        @DefaultValue("50")
+        long leaseSize,
+
+        // How often unused leased units are handed back to Catalog Service.
+        @DefaultValue("1m")
+        Duration reconcileInterval
+) {
+}
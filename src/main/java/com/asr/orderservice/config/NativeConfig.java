@@ -0,0 +1,41 @@
+package com.asr.orderservice.config;
+
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderService;
+import com.asr.orderservice.domain.OrderView;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.asr.orderservice.product.Product;
+import com.asr.orderservice.product.ProductClient;
+import com.asr.orderservice.web.OrderRequest;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+// Hints for the native image. Spring AOT infers most of them, these cover what is only reached
+// reflectively at runtime: Jackson (de)serialization, reactive auditing and the beans PipelineWarmUp
+// creates in its child context. Configuration properties records are covered by AOT.
+@Configuration
+@RegisterReflectionForBinding({Order.class, OrderView.class, Product.class, OrderRequest.class})
+@ImportRuntimeHints(NativeConfig.OrderServiceRuntimeHints.class)
+public class NativeConfig {
+
+    static class OrderServiceRuntimeHints implements RuntimeHintsRegistrar {
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("application*.yaml");
+
+            hints.reflection().registerType(
+                    TypeReference.of("org.springframework.data.mongodb.core.mapping.event.ReactiveAuditingEntityCallback"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+
+            for (var type : new Class<?>[]{OrderService.class, InventoryLedger.class, ProductClient.class,
+                    WriteDurability.class}) {
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+        }
+    }
+}
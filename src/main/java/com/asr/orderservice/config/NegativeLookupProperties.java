@@ -0,0 +1,29 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.negative-lookup")
+public record NegativeLookupProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Size of one Bloom filter generation, two generations are kept in memory.
+        @DefaultValue("8388608")
+        int bits,
+
+        @DefaultValue("4")
+        int hashes,
+
+        // An unknown product is remembered for one to two rotations.
+        @DefaultValue("10m")
+        Duration rotationInterval,
+
+        // Answer repeated orders for unknown products without storing another REJECTED order. Such an
+        // answer has no id and no dates, see OrderService#submitOrder.
+        @DefaultValue("false")
+        boolean skipDuplicateRejections
+) {
+}
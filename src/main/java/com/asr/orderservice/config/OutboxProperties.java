@@ -0,0 +1,27 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.outbox")
+public record OutboxProperties(
+        @DefaultValue("100")
+        int batchSize,
+
+        // How often the outbox is polled for pending events.
+        @DefaultValue("1s")
+        Duration pollInterval,
+
+        // Only one instance relays at a time. It holds the relay for this long after its last batch, then
+        // another instance may take over. Has to be longer than publishing one batch takes.
+        @DefaultValue("30s")
+        Duration relayLease,
+
+        // Target of the local file publisher of the file-outbox profile, one JSON event per line.
+        @DefaultValue("order-events.jsonl")
+        Path file
+) {
+}
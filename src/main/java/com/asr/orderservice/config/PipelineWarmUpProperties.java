@@ -0,0 +1,29 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.pipeline-warm-up")
+public record PipelineWarmUpProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Readiness is reported after this at the latest, warm or not.
+        @DefaultValue("20s")
+        Duration budget,
+
+        // Synthetic submit, find and cancel cycles per measured round.
+        @DefaultValue("100")
+        int roundSize,
+
+        // Rounds whose mean latency differs less than this from the previous one count as stable.
+        @DefaultValue("0.1")
+        double tolerance,
+
+        // Consecutive stable rounds after which latency is considered level.
+        @DefaultValue("3")
+        int stableRounds
+) {
+}
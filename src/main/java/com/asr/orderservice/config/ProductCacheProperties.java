@@ -0,0 +1,21 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.product-cache")
+public record ProductCacheProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Enough for the hot products of store.warm-up.top-products.
+        @DefaultValue("100")
+        int maxSize,
+
+        // A little longer than store.warm-up.interval, so hot products are refreshed before they expire.
+        @DefaultValue("6m")
+        Duration ttl
+) {
+}
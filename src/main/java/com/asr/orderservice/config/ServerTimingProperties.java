@@ -0,0 +1,18 @@
+package com.asr.orderservice.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties(prefix = "store.server-timing")
+public record ServerTimingProperties(
+        // Share of order requests answered with a Server-Timing header. Zero turns the feature off.
+        @DecimalMin("0.0")
+        @DecimalMax("1.0")
+        @DefaultValue("0.0")
+        double samplingRate
+) {
+}
@@ -0,0 +1,31 @@
+package com.asr.orderservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "store.warm-up")
+public record WarmUpProperties(
+        @DefaultValue("true")
+        boolean enabled,
+
+        // Orders created within this window decide which products are hot.
+        @DefaultValue("1h")
+        Duration window,
+
+        @DefaultValue("50")
+        int topProducts,
+
+        // Maximum number of catalog calls in flight while warming up.
+        @DefaultValue("8")
+        int concurrency,
+
+        // Startup does not wait longer than this for the warm-up.
+        @DefaultValue("30s")
+        Duration timeout,
+
+        @DefaultValue("5m")
+        Duration interval
+) {
+}
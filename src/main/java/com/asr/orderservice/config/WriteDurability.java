@@ -0,0 +1,84 @@
+package com.asr.orderservice.config;
+
+import com.asr.orderservice.domain.OrderArchive;
+import com.asr.orderservice.domain.OrderStatus;
+import com.mongodb.WriteConcern;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.WriteConcernResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the write concern of an order from its status: accepted and cancelled orders move money and
+ * stock and are acknowledged by a majority, rejected ones are an audit record and settle for the
+ * primary. Writes inside a transaction take the write concern of the commit, which is the durable one,
+ * see {@link #durableWriteConcern()}.
+ */
+@Component
+public class WriteDurability implements WriteConcernResolver {
+    private final DurabilityProperties durabilityProperties;
+    private final WriteConcern durableWriteConcern;
+    private final WriteConcern auditWriteConcern;
+    private final Map<Tier, Timer> writeTimers = new EnumMap<>(Tier.class);
+
+    public WriteDurability(DurabilityProperties durabilityProperties, MeterRegistry meterRegistry) {
+        this.durabilityProperties = durabilityProperties;
+        this.durableWriteConcern = writeConcern(durabilityProperties.durableW(), durabilityProperties.durableJournal());
+        this.auditWriteConcern = writeConcern(durabilityProperties.auditW(), durabilityProperties.auditJournal());
+        for (var tier : Tier.values()) {
+            writeTimers.put(tier, Timer.builder("orders.write")
+                    .description("Latency of order writes per durability tier")
+                    .tag("tier", tier.name().toLowerCase())
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    public WriteConcern resolve(MongoAction action) {
+        var document = action.getDocument();
+        if (!OrderArchive.ORDERS_COLLECTION.equals(action.getCollectionName()) || document == null) {
+            return action.getDefaultWriteConcern();
+        }
+        // Update documents carry the status under $set, they keep the default.
+        var status = document.get("status");
+        if (!(status instanceof String name)) {
+            return action.getDefaultWriteConcern();
+        }
+        return tier(OrderStatus.valueOf(name)) == Tier.AUDIT ? auditWriteConcern : durableWriteConcern;
+    }
+
+    public WriteConcern durableWriteConcern() {
+        return durableWriteConcern;
+    }
+
+    // Records the latency of a successful write of an order with this status.
+    public <T> Mono<T> timed(OrderStatus status, Mono<T> write) {
+        var timer = writeTimers.get(tier(status));
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return write.doOnSuccess(result -> timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Tier tier(OrderStatus status) {
+        return durabilityProperties.auditStatuses().contains(status) ? Tier.AUDIT : Tier.DURABLE;
+    }
+
+    private static WriteConcern writeConcern(String w, boolean journal) {
+        var writeConcern = w.chars().allMatch(Character::isDigit)
+                ? new WriteConcern(Integer.parseInt(w))
+                : new WriteConcern(w);
+        return writeConcern.withJournal(journal);
+    }
+
+    private enum Tier {
+        DURABLE, AUDIT
+    }
+}
@@ -0,0 +1,140 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.config.InventoryProperties;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderEventType;
+import com.asr.orderservice.event.OrderOutbox;
+import com.asr.orderservice.exception.OrderArchivedException;
+import com.asr.orderservice.exception.OrderNotFoundException;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.asr.orderservice.product.BlockingProductClient;
+import com.asr.orderservice.product.Product;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Blocking equivalent of {@link OrderService} for the {@code imperative} profile. It runs on the blocking
+ * scheduler and uses the synchronous Mongo driver on the same {@code orders} collection. Without leasing,
+ * stock is checked with {@link BlockingProductClient}. With leasing, units are reserved and released
+ * through the shared {@link InventoryLedger}, blocking on its calls, so both models draw on the same
+ * allocations. JFR events and Server-Timing stages are only recorded by the reactive pipeline.
+ */
+@Service
+@Profile("imperative")
+public class BlockingOrderService {
+    private final MongoTemplate mongoTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingProductClient productClient;
+    private final OrderOutbox orderOutbox;
+    private final InventoryLedger inventoryLedger;
+    private final InventoryProperties inventoryProperties;
+
+    public BlockingOrderService(MongoTemplate mongoTemplate, TransactionTemplate blockingTransactionTemplate,
+                                BlockingProductClient productClient, OrderOutbox orderOutbox,
+                                InventoryLedger inventoryLedger, InventoryProperties inventoryProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionTemplate = blockingTransactionTemplate;
+        this.productClient = productClient;
+        this.orderOutbox = orderOutbox;
+        this.inventoryLedger = inventoryLedger;
+        this.inventoryProperties = inventoryProperties;
+    }
+
+    public List<Order> findAllOrders() {
+        return mongoTemplate.findAll(Order.class);
+    }
+
+    public Order findByOrderId(String orderId) {
+        var order = mongoTemplate.findById(orderId, Order.class);
+        if (order == null) {
+            order = mongoTemplate.findById(orderId, Order.class, OrderArchive.ARCHIVE_COLLECTION);
+        }
+        if (order == null) {
+            throw new OrderNotFoundException(orderId);
+        }
+        return order;
+    }
+
+    public Order submitOrder(String productId, int quantity) {
+        var product = reserve(productId, quantity);
+        if (product == null) {
+            return mongoTemplate.save(OrderService.buildRejectedOrder(productId, quantity));
+        }
+        try {
+            return saveWithEvent(OrderService.buildAcceptedOrder(product, quantity), OrderEventType.ORDER_ACCEPTED);
+        } catch (RuntimeException exception) {
+            release(productId, quantity);
+            throw exception;
+        }
+    }
+
+    public Order cancelOrder(String orderId) {
+        var existingOrder = mongoTemplate.findById(orderId, Order.class);
+        if (existingOrder == null) {
+            return cancelArchived(orderId);
+        }
+        var orderToUpdate = new Order(
+                existingOrder.id(),
+                existingOrder.productId(),
+                existingOrder.productName(),
+                existingOrder.productPrice(),
+                existingOrder.quantity(),
+                OrderStatus.CANCELLED,
+                existingOrder.createdDate(),
+                existingOrder.lastModifiedDate(),
+                existingOrder.version()
+        );
+        if (existingOrder.status() == OrderStatus.CANCELLED) {
+            return mongoTemplate.save(orderToUpdate);
+        }
+        // The version check on save makes sure concurrent cancellations release only once.
+        var cancelledOrder = saveWithEvent(orderToUpdate, OrderEventType.ORDER_CANCELLED);
+        if (existingOrder.status() == OrderStatus.ACCEPTED) {
+            release(existingOrder.productId(), existingOrder.quantity());
+        }
+        return cancelledOrder;
+    }
+
+    // Returns null if there is not enough stock.
+    private Product reserve(String productId, int quantity) {
+        if (inventoryProperties.leasing()) {
+            return inventoryLedger.reserve(productId, quantity).block();
+        }
+        var product = productClient.getProduct(productId);
+        return product != null && product.units() >= quantity ? product : null;
+    }
+
+    private void release(String productId, int quantity) {
+        if (inventoryProperties.leasing()) {
+            inventoryLedger.release(productId, quantity).block();
+        }
+    }
+
+    // Same as OrderService, archived orders are read-only.
+    private Order cancelArchived(String orderId) {
+        var archivedOrder = mongoTemplate.findById(orderId, Order.class, OrderArchive.ARCHIVE_COLLECTION);
+        if (archivedOrder == null) {
+            throw new OrderNotFoundException(orderId);
+        }
+        if (archivedOrder.status() != OrderStatus.CANCELLED) {
+            throw new OrderArchivedException(orderId);
+        }
+        return archivedOrder;
+    }
+
+    private Order saveWithEvent(Order order, OrderEventType eventType) {
+        return transactionTemplate.execute(status -> {
+            var savedOrder = mongoTemplate.save(order);
+            // Written like OrderOutbox does, with the date of the Mongo server.
+            if (orderOutbox.enabled()) {
+                mongoTemplate.upsert(OrderOutbox.newEvent(), OrderOutbox.pending(OrderEvent.of(savedOrder, eventType)),
+                        OrderEvent.class);
+            }
+            return savedOrder;
+        });
+    }
+}
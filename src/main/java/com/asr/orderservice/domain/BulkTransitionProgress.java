@@ -0,0 +1,15 @@
+package com.asr.orderservice.domain;
+
+public record BulkTransitionProgress(
+        int chunk,
+        int transitionedInChunk,
+        long transitionedTotal
+) {
+    static BulkTransitionProgress start() {
+        return new BulkTransitionProgress(0, 0, 0);
+    }
+
+    BulkTransitionProgress next(int transitioned) {
+        return new BulkTransitionProgress(chunk + 1, transitioned, transitionedTotal + transitioned);
+    }
+}
@@ -0,0 +1,113 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.config.ArchiveProperties;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.result.DeleteResult;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cold storage for terminal orders. Orders that reached a final status and were not touched for
+ * {@link ArchiveProperties#minAge()} are moved in small batches from the live {@code orders}
+ * collection to {@code orders_archive}, keeping the live collection and its indexes small.
+ */
+@Component
+public class OrderArchive {
+    public static final String ORDERS_COLLECTION = "orders";
+    public static final String ARCHIVE_COLLECTION = "orders_archive";
+    private static final List<String> TERMINAL_STATUSES = List.of(
+            OrderStatus.CANCELLED.name(), OrderStatus.REJECTED.name(), OrderStatus.DISPATCHED.name());
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ArchiveProperties archiveProperties;
+
+    public OrderArchive(ReactiveMongoTemplate mongoTemplate, ArchiveProperties archiveProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.archiveProperties = archiveProperties;
+    }
+
+    public Mono<Order> findById(String orderId) {
+        return mongoTemplate.findById(orderId, Order.class, ARCHIVE_COLLECTION);
+    }
+
+    // Runs on the scheduler thread, blocking here keeps two runs from overlapping.
+    @Scheduled(initialDelayString = "${store.archive.interval}", fixedDelayString = "${store.archive.interval}")
+    void scheduledArchive() {
+        if (archiveProperties.enabled()) {
+            archiveTerminalOrders().block();
+        }
+    }
+
+    /**
+     * Moves every terminal order older than the configured age to the archive.
+     *
+     * @return the number of orders removed from the live collection
+     */
+    public Mono<Long> archiveTerminalOrders() {
+        var cutoff = Instant.now().minus(archiveProperties.minAge());
+        return ensureIndexes().then(
+                archiveBatch(cutoff)
+                        .expand(archived -> archived < archiveProperties.batchSize()
+                                ? Mono.empty()
+                                : archiveBatch(cutoff).delaySubscription(archiveProperties.batchPause()))
+                        .reduce(0L, Long::sum)
+        );
+    }
+
+    private Mono<Long> archiveBatch(Instant cutoff) {
+        var query = Query.query(Criteria.where("status").in(TERMINAL_STATUSES)
+                        .and("lastModifiedDate").lt(cutoff))
+                .limit(archiveProperties.batchSize());
+        return mongoTemplate.find(query, Document.class, ORDERS_COLLECTION)
+                .collectList()
+                .flatMap(documents -> documents.isEmpty() ? Mono.just(0L) : moveToArchive(documents));
+    }
+
+    // Copy first and delete afterward: a crash in between leaves a duplicate, which the
+    // upsert overwrites on the next run, but never loses an order. The delete matches the copied
+    // version, an order written in between stays live and is copied again on a later run.
+    Mono<Long> moveToArchive(List<Document> documents) {
+        var copies = documents.stream()
+                .map(document -> Criteria.where("_id").is(document.get("_id")).and("version").is(document.get("version")))
+                .toArray(Criteria[]::new);
+        var replacements = documents.stream()
+                .map(document -> new ReplaceOneModel<>(Filters.eq("_id", document.get("_id")), document,
+                        new ReplaceOptions().upsert(true)))
+                .toList();
+        return mongoTemplate.getCollection(ARCHIVE_COLLECTION)
+                .flatMap(archive -> Mono.from(archive.bulkWrite(replacements, new BulkWriteOptions().ordered(false))))
+                .then(mongoTemplate.remove(Query.query(new Criteria().orOperator(copies)
+                        .and("status").in(TERMINAL_STATUSES)), ORDERS_COLLECTION))
+                .map(DeleteResult::getDeletedCount);
+    }
+
+    private Mono<Void> ensureIndexes() {
+        var liveIndex = mongoTemplate.indexOps(ORDERS_COLLECTION).ensureIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("lastModifiedDate", Sort.Direction.ASC)
+                .named("status_lastModifiedDate"));
+        if (archiveProperties.rejectedTtl().isZero()) {
+            return liveIndex.then();
+        }
+        var rejectedTtlIndex = mongoTemplate.indexOps(ARCHIVE_COLLECTION).ensureIndex(new Index()
+                .on("lastModifiedDate", Sort.Direction.ASC)
+                .expire(archiveProperties.rejectedTtl())
+                .partial(PartialIndexFilter.of(Criteria.where("status").is(OrderStatus.REJECTED.name())))
+                .named("rejected_ttl"));
+        return liveIndex.then(rejectedTtlIndex).then();
+    }
+}
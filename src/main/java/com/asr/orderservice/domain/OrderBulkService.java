@@ -0,0 +1,135 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.config.BulkProperties;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderEventType;
+import com.asr.orderservice.event.OrderOutbox;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.mongodb.MongoException;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves many orders from one status to another with server-side {@code updateMany} calls instead of
+ * a read and a save per order. Each chunk is selected and updated in one transaction, so a concurrent
+ * change to any of its orders aborts and retries the chunk instead of being overwritten.
+ */
+@Service
+public class OrderBulkService {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderOutbox orderOutbox;
+    private final InventoryLedger inventoryLedger;
+    private final TransactionalOperator transactionalOperator;
+    private final BulkProperties bulkProperties;
+
+    public OrderBulkService(ReactiveMongoTemplate mongoTemplate, OrderOutbox orderOutbox,
+                            InventoryLedger inventoryLedger, TransactionalOperator transactionalOperator,
+                            BulkProperties bulkProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderOutbox = orderOutbox;
+        this.inventoryLedger = inventoryLedger;
+        this.transactionalOperator = transactionalOperator;
+        this.bulkProperties = bulkProperties;
+    }
+
+    public Flux<BulkTransitionProgress> dispatchOrders(OrderFilter filter) {
+        return transition(filter, OrderStatus.DISPATCHED);
+    }
+
+    public Flux<BulkTransitionProgress> cancelOrders(OrderFilter filter) {
+        return transition(filter, OrderStatus.CANCELLED);
+    }
+
+    // Only ACCEPTED orders can be dispatched or cancelled in bulk. Transitioned orders no longer
+    // match the query, so every chunk picks up where the previous one stopped.
+    private Flux<BulkTransitionProgress> transition(OrderFilter filter, OrderStatus targetStatus) {
+        var query = toQuery(filter).addCriteria(Criteria.where("status").is(OrderStatus.ACCEPTED));
+        return transitionChunk(query, targetStatus, BulkTransitionProgress.start())
+                .expand(progress -> progress.transitionedInChunk() < bulkProperties.chunkSize()
+                        ? Mono.empty()
+                        : transitionChunk(query, targetStatus, progress));
+    }
+
+    private Mono<BulkTransitionProgress> transitionChunk(Query query, OrderStatus targetStatus,
+                                                         BulkTransitionProgress progress) {
+        var chunkQuery = Query.of(query).with(Sort.by("_id")).limit(bulkProperties.chunkSize());
+        chunkQuery.fields().include("productId", "productPrice", "quantity");
+        return mongoTemplate.find(chunkQuery, Order.class)
+                .collectList()
+                .flatMap(orders -> orders.isEmpty()
+                        ? Mono.just(orders)
+                        : updateStatus(orders, targetStatus).thenReturn(orders))
+                .as(transactionalOperator::transactional)
+                .retryWhen(Retry.backoff(3, Duration.ofMillis(100))
+                        .filter(OrderBulkService::isTransientTransactionError))
+                .flatMap(orders -> releaseReservations(orders, targetStatus).thenReturn(progress.next(orders.size())));
+    }
+
+    private Mono<Void> updateStatus(List<Order> orders, OrderStatus targetStatus) {
+        var ids = orders.stream().map(Order::id).toList();
+        var update = new Update()
+                .set("status", targetStatus)
+                .set("lastModifiedDate", Instant.now())
+                .inc("version", 1);
+        var updateOrders = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("_id").in(ids).and("status").is(OrderStatus.ACCEPTED)), update, Order.class);
+        if (targetStatus != OrderStatus.CANCELLED) {
+            return updateOrders.then();
+        }
+        var events = orders.stream()
+                .map(order -> OrderEvent.of(order, OrderEventType.ORDER_CANCELLED))
+                .toList();
+        return updateOrders.then(orderOutbox.appendAll(events));
+    }
+
+    private Mono<Void> releaseReservations(List<Order> orders, OrderStatus targetStatus) {
+        if (targetStatus != OrderStatus.CANCELLED) {
+            return Mono.empty();
+        }
+        var unitsByProduct = orders.stream()
+                .collect(Collectors.groupingBy(Order::productId, Collectors.summingInt(Order::quantity)));
+        return Flux.fromIterable(unitsByProduct.entrySet())
+                .concatMap(entry -> inventoryLedger.release(entry.getKey(), entry.getValue()))
+                .then();
+    }
+
+    private static boolean isTransientTransactionError(Throwable error) {
+        return NestedExceptionUtils.getMostSpecificCause(error) instanceof MongoException mongoException
+                && mongoException.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL);
+    }
+
+    private static Query toQuery(OrderFilter filter) {
+        var query = new Query();
+        if (filter.productId() != null) {
+            query.addCriteria(Criteria.where("productId").is(filter.productId()));
+        }
+        if (filter.createdFrom() != null || filter.createdTo() != null) {
+            var createdDate = Criteria.where("createdDate");
+            if (filter.createdFrom() != null) {
+                createdDate.gte(filter.createdFrom());
+            }
+            if (filter.createdTo() != null) {
+                createdDate.lt(filter.createdTo());
+            }
+            query.addCriteria(createdDate);
+        }
+        if (filter.orderIds() != null && !filter.orderIds().isEmpty()) {
+            query.addCriteria(Criteria.where("_id").in(filter.orderIds()));
+        }
+        return query;
+    }
+}
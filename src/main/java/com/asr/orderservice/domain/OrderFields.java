@@ -0,0 +1,33 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.exception.UnknownOrderFieldException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link Order} fields requested with {@code fields=}, e.g. {@code fields=id,status,createdDate}.
+ */
+public record OrderFields(Set<String> names) {
+    static final Set<String> ALL = Set.of("id", "productId", "productName", "productPrice", "quantity",
+            "status", "createdDate", "lastModifiedDate", "version");
+
+    public static OrderFields parse(String fields) {
+        var names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (names.isEmpty()) {
+            throw new UnknownOrderFieldException(fields);
+        }
+        names.stream()
+                .filter(name -> !ALL.contains(name))
+                .findFirst()
+                .ifPresent(name -> {
+                    throw new UnknownOrderFieldException(name);
+                });
+        return new OrderFields(Set.copyOf(names));
+    }
+}
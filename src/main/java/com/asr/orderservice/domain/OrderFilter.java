@@ -0,0 +1,13 @@
+package com.asr.orderservice.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+// Every criterion is optional, the ones defined are combined with AND.
+public record OrderFilter(
+        String productId,
+        Instant createdFrom,
+        Instant createdTo,
+        List<String> orderIds
+) {
+}
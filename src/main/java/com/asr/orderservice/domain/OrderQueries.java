@@ -0,0 +1,56 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.exception.OrderNotFoundException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Sparse fieldset reads: only the requested {@link OrderFields} leave Mongo and get decoded. The list
+ * has neither a filter nor a sort, so it scans the collection whatever the fields, and no index is
+ * forced on it.
+ */
+@Component
+public class OrderQueries {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public OrderQueries(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    public Flux<OrderView> findAllOrders(OrderFields fields) {
+        var query = project(new Query(), fields);
+        return mongoTemplate.find(query, OrderView.class, OrderArchive.ORDERS_COLLECTION);
+    }
+
+    public Mono<OrderView> findByOrderId(String orderId, OrderFields fields) {
+        var query = project(Query.query(Criteria.where("id").is(orderId)), fields);
+        return mongoTemplate.findOne(query, OrderView.class, OrderArchive.ORDERS_COLLECTION)
+                // Terminal orders may have been moved to the archive.
+                .switchIfEmpty(Mono.defer(() ->
+                        mongoTemplate.findOne(query, OrderView.class, OrderArchive.ARCHIVE_COLLECTION)))
+                .switchIfEmpty(Mono.error(new OrderNotFoundException(orderId)));
+    }
+
+    /**
+     * Reads only the {@code @Version} of an order, enough to answer a conditional GET.
+     */
+    public Mono<Integer> findVersion(String orderId) {
+        return findByOrderId(orderId, new OrderFields(Set.of("version")))
+                .map(OrderView::version);
+    }
+
+    private static Query project(Query query, OrderFields fields) {
+        fields.names().forEach(query.fields()::include);
+        // Mongo returns the id unless told otherwise.
+        if (!fields.names().contains("id")) {
+            query.fields().exclude("id");
+        }
+        return query;
+    }
+}
@@ -1,20 +1,58 @@
 package com.asr.orderservice.domain;
 
+import com.asr.orderservice.config.NegativeLookupProperties;
+import com.asr.orderservice.config.WriteDurability;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderEventType;
+import com.asr.orderservice.event.OrderOutbox;
+import com.asr.orderservice.exception.OrderArchivedException;
 import com.asr.orderservice.exception.OrderNotFoundException;
+import com.asr.orderservice.exception.OrderVersionMismatchException;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.asr.orderservice.jfr.PipelineEvents;
+import com.asr.orderservice.product.NotFoundProductFilter;
 import com.asr.orderservice.product.Product;
-import com.asr.orderservice.product.ProductClient;
+import com.asr.orderservice.timing.ServerTimingStages;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 @Service
 public class OrderService {
     private final OrderRepository orderRepository;
-    private final ProductClient productClient;
+    private final OrderArchive orderArchive;
+    private final InventoryLedger inventoryLedger;
+    private final OrderOutbox orderOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final NotFoundProductFilter notFoundProductFilter;
+    private final NegativeLookupProperties negativeLookupProperties;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final WriteDurability writeDurability;
+    private final ServerTimingStages serverTimingStages;
 
-    public OrderService(OrderRepository orderRepository, ProductClient productClient) {
+    public OrderService(OrderRepository orderRepository, OrderArchive orderArchive, InventoryLedger inventoryLedger,
+                        OrderOutbox orderOutbox, TransactionalOperator transactionalOperator,
+                        NotFoundProductFilter notFoundProductFilter, NegativeLookupProperties negativeLookupProperties,
+                        ReactiveMongoTemplate mongoTemplate, WriteDurability writeDurability,
+                        ServerTimingStages serverTimingStages) {
         this.orderRepository = orderRepository;
-        this.productClient = productClient;
+        this.orderArchive = orderArchive;
+        this.inventoryLedger = inventoryLedger;
+        this.orderOutbox = orderOutbox;
+        this.transactionalOperator = transactionalOperator;
+        this.notFoundProductFilter = notFoundProductFilter;
+        this.negativeLookupProperties = negativeLookupProperties;
+        this.mongoTemplate = mongoTemplate;
+        this.writeDurability = writeDurability;
+        this.serverTimingStages = serverTimingStages;
     }
 
     public static Order buildRejectedOrder(String productId, int quantity) {
@@ -26,30 +64,58 @@ public class OrderService {
     }
 
     public Flux<Order> findAllOrders() {
-        return orderRepository.findAll();
+        return serverTimingStages.timed("mongo", orderRepository.findAll());
     }
 
     public Mono<Order> findByOrderId(String orderId) {
-        return orderRepository.findById(orderId)
+        return mongo("find", orderId, orderRepository.findById(orderId))
+                // Terminal orders may have been moved to the archive.
+                .switchIfEmpty(Mono.defer(() -> orderArchive.findById(orderId)))
                 .switchIfEmpty(Mono.error(new OrderNotFoundException(orderId)));
     }
 
+    /**
+     * Accepts the order if the stock allows it and rejects it otherwise, storing it either way.
+     * <p>
+     * With {@link NegativeLookupProperties#skipDuplicateRejections()}, a rejection for a product
+     * Catalog Service recently answered with 404 is not stored again. The order returned then has no
+     * {@code id}, {@code createdDate} or {@code lastModifiedDate} and cannot be read back.
+     */
     public Mono<Order> submitOrder(String productId, int quantity) {
-        return productClient
-                .getProduct(productId)
-                .filter(product -> product.units() >= quantity)
-                .map(product -> buildAcceptedOrder(product, quantity))
-                // TODO: Integrate with payment service and after successful payment decrease the number of units of products
-//                .doOnSuccess(product -> updateProductUnits(productId, quantity))
-                .defaultIfEmpty(
-                        buildRejectedOrder(productId, quantity)
-                ).flatMap(orderRepository::save);
+        return Mono.defer(() -> {
+            // Checked before the lookup, since a 404 during the lookup adds the product to the filter.
+            var knownMissingProduct = negativeLookupProperties.skipDuplicateRejections()
+                    && notFoundProductFilter.mightContain(productId);
+            var decision = inventoryLedger
+                    .reserve(productId, quantity)
+                    .map(product -> buildAcceptedOrder(product, quantity))
+                    // TODO: Integrate with payment service and release the reservation if the payment fails
+                    .defaultIfEmpty(
+                            buildRejectedOrder(productId, quantity)
+                    );
+            return PipelineEvents.orderDecision(productId, decision, Order::status)
+                    .flatMap(order -> {
+                        // The rejection was stored before, another copy adds nothing to the audit trail.
+                        if (knownMissingProduct && order.status() == OrderStatus.REJECTED) {
+                            notFoundProductFilter.recordSkippedRejection();
+                            return Mono.just(order);
+                        }
+                        return save(order)
+                                .onErrorResume(exception -> releaseReservation(order)
+                                        .then(Mono.error(exception)));
+                    });
+        });
     }
 
-    // TODO: Integrate with payment service and decrease units of products
+    /**
+     * Cancels the order. An archived order is found like in {@link #findByOrderId(String)}, but it is
+     * no longer changed: a cancelled one is returned as it is, any other one is refused.
+     *
+     * @throws OrderArchivedException if the order is archived with another status
+     */
+    // TODO: Integrate with payment service
     public Mono<Order> cancelOrder(String orderId) {
-        return orderRepository.findById(orderId)
-                .switchIfEmpty(Mono.error(new OrderNotFoundException(orderId)))
+        var cancellation = mongo("find", orderId, orderRepository.findById(orderId))
                 .flatMap(existingOrder -> {
                     var orderToUpdate = new Order(
                             existingOrder.id(),
@@ -62,7 +128,112 @@ public class OrderService {
                             existingOrder.lastModifiedDate(),
                             existingOrder.version()
                     );
-                    return orderRepository.save(orderToUpdate);
+                    // The version check on save makes sure concurrent cancellations release only once.
+                    var saveCancelledOrder = existingOrder.status() == OrderStatus.CANCELLED
+                            ? mongo("update", orderId, writeDurability.timed(OrderStatus.CANCELLED,
+                                    orderRepository.save(orderToUpdate)))
+                            : saveWithEvent(orderToUpdate, OrderEventType.ORDER_CANCELLED);
+                    return saveCancelledOrder
+                            .flatMap(cancelledOrder -> releaseReservation(existingOrder)
+                                    .thenReturn(cancelledOrder));
+                })
+                .switchIfEmpty(Mono.defer(() -> cancelArchived(orderId, null)));
+        return PipelineEvents.orderCancel(orderId, cancellation);
+    }
+
+    /**
+     * Cancels the order only if it is still at {@code expectedVersion}. The version check and the
+     * update are one findAndModify, the replaced document tells whether units were reserved.
+     *
+     * @throws OrderVersionMismatchException if the order has changed in the meantime
+     * @throws OrderArchivedException if the order is archived with another status than cancelled
+     */
+    public Mono<Order> cancelOrder(String orderId, int expectedVersion) {
+        var lastModifiedDate = Instant.now();
+        var query = Query.query(Criteria.where("id").is(orderId).and("version").is(expectedVersion));
+        var update = new Update()
+                .set("status", OrderStatus.CANCELLED)
+                .set("lastModifiedDate", lastModifiedDate)
+                .inc("version", 1);
+        // The event goes to the outbox in the same transaction, like in saveWithEvent.
+        var write = mongoTemplate
+                .findAndModify(query, update, FindAndModifyOptions.options().returnNew(false), Order.class)
+                .flatMap(existingOrder -> existingOrder.status() == OrderStatus.CANCELLED
+                        ? Mono.just(existingOrder)
+                        : orderOutbox.append(OrderEvent.of(
+                                        cancelled(existingOrder, lastModifiedDate), OrderEventType.ORDER_CANCELLED))
+                                .thenReturn(existingOrder))
+                .as(transactionalOperator::transactional);
+        var cancellation = mongo("update", orderId, writeDurability.timed(OrderStatus.CANCELLED, write))
+                .switchIfEmpty(Mono.defer(() -> versionMismatch(orderId, expectedVersion)))
+                .flatMap(existingOrder -> releaseReservation(existingOrder)
+                        .thenReturn(cancelled(existingOrder, lastModifiedDate)));
+        return PipelineEvents.orderCancel(orderId, cancellation);
+    }
+
+    // Mirrors the update of cancelOrder(String, int), which bumps the version by one.
+    private static Order cancelled(Order existingOrder, Instant lastModifiedDate) {
+        return new Order(
+                existingOrder.id(),
+                existingOrder.productId(),
+                existingOrder.productName(),
+                existingOrder.productPrice(),
+                existingOrder.quantity(),
+                OrderStatus.CANCELLED,
+                existingOrder.createdDate(),
+                lastModifiedDate,
+                existingOrder.version() + 1
+        );
+    }
+
+    // An order missing from the live collection may have been archived in the meantime.
+    private Mono<Order> versionMismatch(String orderId, int expectedVersion) {
+        return orderRepository.existsById(orderId)
+                .flatMap(exists -> exists
+                        ? Mono.error(new OrderVersionMismatchException(orderId))
+                        : cancelArchived(orderId, expectedVersion));
+    }
+
+    // Archived orders are terminal and read-only, see OrderArchive.
+    private Mono<Order> cancelArchived(String orderId, Integer expectedVersion) {
+        return orderArchive.findById(orderId)
+                .switchIfEmpty(Mono.error(new OrderNotFoundException(orderId)))
+                .flatMap(archivedOrder -> {
+                    if (expectedVersion != null && archivedOrder.version() != expectedVersion) {
+                        return Mono.error(new OrderVersionMismatchException(orderId));
+                    }
+                    return archivedOrder.status() == OrderStatus.CANCELLED
+                            ? Mono.just(archivedOrder)
+                            : Mono.error(new OrderArchivedException(orderId));
                 });
     }
+
+    private Mono<Order> save(Order order) {
+        if (order.status() == OrderStatus.ACCEPTED) {
+            return saveWithEvent(order, OrderEventType.ORDER_ACCEPTED);
+        }
+        return mongo("save", order.id(), writeDurability.timed(order.status(), orderRepository.save(order)));
+    }
+
+    // The event goes to the outbox in the same transaction, OrderEventRelay publishes it afterward.
+    private Mono<Order> saveWithEvent(Order order, OrderEventType eventType) {
+        var operation = order.id() == null ? "save" : "update";
+        var write = orderRepository.save(order)
+                .flatMap(savedOrder -> orderOutbox.append(OrderEvent.of(savedOrder, eventType))
+                        .thenReturn(savedOrder))
+                .as(transactionalOperator::transactional);
+        return mongo(operation, order.id(), writeDurability.timed(order.status(), write));
+    }
+
+    private <T> Mono<T> mongo(String operation, String orderId, Mono<T> call) {
+        return serverTimingStages.timed("mongo", PipelineEvents.mongoOperation(operation, orderId, call));
+    }
+
+    // Only accepted orders hold reserved units.
+    private Mono<Void> releaseReservation(Order order) {
+        if (order.status() != OrderStatus.ACCEPTED) {
+            return Mono.empty();
+        }
+        return inventoryLedger.release(order.productId(), order.quantity());
+    }
 }
@@ -0,0 +1,29 @@
+package com.asr.orderservice.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+/**
+ * Read-only view of an {@link Order} holding only the fields a client asked for, the others stay
+ * {@code null} and are left out of the response.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderView(
+        @Id
+        String id,
+
+        String productId,
+        String productName,
+        Double productPrice,
+        Integer quantity,
+
+        OrderStatus status,
+
+        Instant createdDate,
+        Instant lastModifiedDate,
+
+        Integer version
+) {
+}
@@ -0,0 +1,212 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.config.InventoryProperties;
+import com.asr.orderservice.config.PipelineWarmUpProperties;
+import com.asr.orderservice.config.WriteDurability;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderOutbox;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.asr.orderservice.product.Product;
+import com.asr.orderservice.product.ProductClient;
+import com.asr.orderservice.product.ProductLease;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.config.BeanDefinitionCustomizer;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.mongodb.core.ReactiveMongoOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.repository.support.MappingMongoEntityInformation;
+import org.springframework.data.mongodb.repository.support.ReactiveMongoRepositoryFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Runs synthetic orders through a private copy of the order pipeline until its latency levels off,
+ * so the JIT has compiled {@link OrderService}, the Mongo codecs and Jackson before real traffic
+ * arrives. As an {@link ApplicationRunner} it completes before the readiness state turns to
+ * ACCEPTING_TRAFFIC.
+ * <p>
+ * The copy is built by a child of the application context that overrides only the stateful beans, so
+ * it shares the code, not the state: the catalog is answered in process, and orders and their events go
+ * to throwaway collections that are dropped afterward. Nothing reaches the outbox relay. The
+ * collections are named after this instance, so pods starting together never share them.
+ */
+@Component
+public class PipelineWarmUp implements ApplicationRunner {
+    static final String WARM_UP_PRODUCT_ID = "warm-up";
+    private static final String COLLECTION_INFIX = "_warm_up_";
+    private static final BeanDefinitionCustomizer OVERRIDE = definition -> definition.setPrimary(true);
+
+    private final String collectionSuffix = COLLECTION_INFIX + UUID.randomUUID().toString().replace("-", "");
+    private final PipelineWarmUpProperties warmUpProperties;
+    private final ApplicationContext applicationContext;
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final InventoryProperties inventoryProperties;
+    private final WebClient.Builder webClientBuilder;
+    private final ObjectMapper objectMapper;
+
+    public PipelineWarmUp(PipelineWarmUpProperties warmUpProperties, ApplicationContext applicationContext,
+                          ReactiveMongoTemplate mongoTemplate, InventoryProperties inventoryProperties,
+                          WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
+        this.warmUpProperties = warmUpProperties;
+        this.applicationContext = applicationContext;
+        this.mongoTemplate = mongoTemplate;
+        this.inventoryProperties = inventoryProperties;
+        this.webClientBuilder = webClientBuilder;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (warmUpProperties.enabled()) {
+            // A cold instance is still better than none, a failed warm-up does not stop the startup.
+            warmUp().onErrorResume(exception -> Mono.just(0)).block();
+        }
+    }
+
+    /**
+     * Runs measured rounds until {@link PipelineWarmUpProperties#stableRounds()} consecutive rounds
+     * agree on the mean latency, or the budget is spent.
+     *
+     * @return the number of rounds run
+     */
+    public Mono<Integer> warmUp() {
+        return Mono.usingWhen(
+                Mono.fromSupplier(this::newPipeline),
+                pipeline -> Mono.fromCallable(() -> warmUp(pipeline.getBean(OrderService.class))),
+                pipeline -> dropCollections().doFinally(signal -> pipeline.close())
+        );
+    }
+
+    // Runs on the calling thread, blocking on each round keeps the measurements apart. A round that
+    // outlasts the budget, e.g. on a stalled Mongo, is cancelled and ends the warm-up.
+    private int warmUp(OrderService pipeline) {
+        long deadline = System.nanoTime() + warmUpProperties.budget().toNanos();
+        double previousMean = Double.NaN;
+        int stableRounds = 0;
+        int rounds = 0;
+        while (stableRounds < warmUpProperties.stableRounds() && System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            boolean completed = Flux.range(0, warmUpProperties.roundSize())
+                    .concatMap(i -> cycle(pipeline))
+                    .then(Mono.just(true))
+                    .timeout(Duration.ofNanos(deadline - start), Mono.just(false))
+                    .block();
+            if (!completed) {
+                break;
+            }
+            double mean = (double) (System.nanoTime() - start) / warmUpProperties.roundSize();
+            stableRounds = Math.abs(mean - previousMean) <= previousMean * warmUpProperties.tolerance()
+                    ? stableRounds + 1
+                    : 0;
+            previousMean = mean;
+            rounds++;
+        }
+        return rounds;
+    }
+
+    // The same calls and response encoding a client causes with POST, GET and PUT /orders.
+    private Mono<byte[]> cycle(OrderService pipeline) {
+        return pipeline.submitOrder(WARM_UP_PRODUCT_ID, 1)
+                .flatMap(order -> pipeline.findByOrderId(order.id()))
+                .flatMap(order -> pipeline.cancelOrder(order.id()))
+                .map(this::toJson);
+    }
+
+    // Beans with the same name as in the application context replace them, everything else is shared.
+    // OrderService and its collaborators are created by their constructors, whatever those take.
+    private GenericApplicationContext newPipeline() {
+        var repositoryFactory = new ThrowawayRepositoryFactory(mongoTemplate, collectionSuffix);
+        var pipeline = new GenericApplicationContext(applicationContext);
+        pipeline.registerBean("orderRepository", OrderRepository.class,
+                () -> repositoryFactory.getRepository(OrderRepository.class), OVERRIDE);
+        // Written even without a publisher, so the warm-up covers the outbox writes too.
+        pipeline.registerBean("orderOutbox", OrderOutbox.class,
+                () -> new OrderOutbox(mongoTemplate, throwaway(OrderEvent.class), true), OVERRIDE);
+        pipeline.registerBean("webClient", WebClient.class,
+                () -> webClientBuilder.clone().exchangeFunction(this::stubCatalog).build(), OVERRIDE);
+        // Synthetic writes and leases stay out of the real metrics.
+        pipeline.registerBean("meterRegistry", MeterRegistry.class, SimpleMeterRegistry::new, OVERRIDE);
+        pipeline.registerBean("productClient", ProductClient.class, OVERRIDE);
+        pipeline.registerBean("inventoryLedger", InventoryLedger.class, OVERRIDE);
+        pipeline.registerBean("writeDurability", WriteDurability.class, OVERRIDE);
+        pipeline.registerBean("orderService", OrderService.class, OVERRIDE);
+        pipeline.refresh();
+        return pipeline;
+    }
+
+    // Answers every lookup, lease and return the way Catalog Service would, without a connection.
+    private Mono<ClientResponse> stubCatalog(ClientRequest request) {
+        var path = request.url().getPath();
+        var product = new Product(WARM_UP_PRODUCT_ID, "Warm-up", 1.0, Long.MAX_VALUE);
+        Object body;
+        if (path.endsWith("/leases")) {
+            body = new ProductLease(inventoryProperties.leaseSize(), product);
+        } else if (path.endsWith("/returns")) {
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        } else {
+            body = product;
+        }
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(new String(toJson(body), StandardCharsets.UTF_8))
+                .build());
+    }
+
+    private Mono<Void> dropCollections() {
+        return Flux.just(throwaway(Order.class), throwaway(OrderEvent.class))
+                .concatMap(mongoTemplate::dropCollection)
+                .then();
+    }
+
+    private String throwaway(Class<?> entityType) {
+        return mongoTemplate.getCollectionName(entityType) + collectionSuffix;
+    }
+
+    private byte[] toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    // Creates the regular repositories, but bound to the throwaway collections.
+    private static final class ThrowawayRepositoryFactory extends ReactiveMongoRepositoryFactory {
+        private final ReactiveMongoOperations operations;
+        private final String collectionSuffix;
+
+        private ThrowawayRepositoryFactory(ReactiveMongoOperations operations, String collectionSuffix) {
+            super(operations);
+            this.operations = operations;
+            this.collectionSuffix = collectionSuffix;
+        }
+
+        @Override
+        protected Object getTargetRepository(RepositoryInformation information) {
+            var entity = operations.getConverter().getMappingContext()
+                    .getRequiredPersistentEntity(information.getDomainType());
+            var entityInformation = new MappingMongoEntityInformation<>(entity,
+                    entity.getCollection() + collectionSuffix);
+            return getTargetRepositoryViaReflection(information, entityInformation, operations);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.asr.orderservice.event;
+
+import com.asr.orderservice.config.OutboxProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Stand-in until a message broker is available: appends every event as a JSON line to a local file.
+// Only for local runs, a pod's working directory does not outlive the pod.
+@Component
+@Profile("file-outbox")
+public class LocalFileOrderEventPublisher implements OrderEventPublisher {
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties outboxProperties;
+
+    public LocalFileOrderEventPublisher(ObjectMapper objectMapper, OutboxProperties outboxProperties) {
+        this.objectMapper = objectMapper;
+        this.outboxProperties = outboxProperties;
+    }
+
+    @Override
+    public Mono<Void> publish(List<OrderEvent> events) {
+        return Mono.fromRunnable(() -> append(events))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    private void append(List<OrderEvent> events) {
+        var lines = new StringBuilder();
+        for (var event : events) {
+            lines.append(toJson(event)).append('\n');
+        }
+        try {
+            Files.writeString(outboxProperties.file(), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private String toJson(OrderEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.asr.orderservice.event;
+
+import com.asr.orderservice.domain.Order;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("order_events")
+public record OrderEvent(
+        @Id
+        String id,
+
+        OrderEventType type,
+        String orderId,
+        String productId,
+        Double productPrice,
+        Integer quantity,
+
+        Instant createdDate
+) {
+    public static OrderEvent of(Order order, OrderEventType type) {
+        return new OrderEvent(null, type, order.id(), order.productId(), order.productPrice(), order.quantity(),
+                Instant.now());
+    }
+}
@@ -0,0 +1,14 @@
+package com.asr.orderservice.event;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Delivers order events to downstream services. Events must be delivered in the given order, and
+ * the returned {@link Mono} may only complete once all of them were handed over, otherwise the
+ * batch is published again.
+ */
+public interface OrderEventPublisher {
+    Mono<Void> publish(List<OrderEvent> events);
+}
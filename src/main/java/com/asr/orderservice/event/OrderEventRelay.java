@@ -0,0 +1,125 @@
+package com.asr.orderservice.event;
+
+import com.asr.orderservice.config.OutboxProperties;
+import com.mongodb.client.result.DeleteResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the {@code order_events} outbox to the {@link OrderEventPublisher} in batches. Events are
+ * deleted only after they were published, so a failure means the same batch is published again
+ * (at-least-once), always from the oldest pending event. Events are dated by the Mongo server in
+ * {@link OrderOutbox}, so the events of one order are published in the order their changes committed.
+ * <p>
+ * Only the instance holding the relay lease in {@code outbox_relay} publishes, the others skip their
+ * runs until it stops renewing the lease for {@link OutboxProperties#relayLease()}. Without a publisher,
+ * e.g. when the {@code file-outbox} profile is not active, no events are written and only the lag is
+ * tracked.
+ */
+@Component
+public class OrderEventRelay {
+    private static final Sort OLDEST_FIRST = Sort.by("createdDate", "_id");
+    static final String LEASE_COLLECTION = "outbox_relay";
+    private static final String LEASE_ID = "order_events";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final Optional<OrderEventPublisher> orderEventPublisher;
+    private final OutboxProperties outboxProperties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter publishedEvents;
+
+    public OrderEventRelay(ReactiveMongoTemplate mongoTemplate, Optional<OrderEventPublisher> orderEventPublisher,
+                           OutboxProperties outboxProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderEventPublisher = orderEventPublisher;
+        this.outboxProperties = outboxProperties;
+        Gauge.builder("orders.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest order event not published yet")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        this.publishedEvents = Counter.builder("orders.outbox.published")
+                .description("Order events handed over to the publisher")
+                .register(meterRegistry);
+    }
+
+    // Runs on the scheduler thread, blocking here keeps two runs from overlapping.
+    @Scheduled(fixedDelayString = "${store.outbox.poll-interval}")
+    void scheduledRelay() {
+        relay().block();
+    }
+
+    /**
+     * Publishes every pending event.
+     *
+     * @return the number of events published
+     */
+    public Mono<Long> relay() {
+        if (orderEventPublisher.isEmpty()) {
+            return updateLag().thenReturn(0L);
+        }
+        var publisher = orderEventPublisher.get();
+        return relayBatch(publisher)
+                .expand(published -> published < outboxProperties.batchSize() ? Mono.empty() : relayBatch(publisher))
+                .reduce(0L, Long::sum)
+                .flatMap(published -> updateLag().thenReturn(published))
+                // The lag matters most while the publisher is failing, so it is updated then too.
+                .onErrorResume(exception -> updateLag().then(Mono.error(exception)));
+    }
+
+    // Completes empty when another instance holds the lease.
+    private Mono<Long> relayBatch(OrderEventPublisher publisher) {
+        var query = new Query().with(OLDEST_FIRST).limit(outboxProperties.batchSize());
+        return renewLease()
+                .filter(leased -> leased)
+                .flatMap(leased -> mongoTemplate.find(query, OrderEvent.class).collectList())
+                .flatMap(events -> {
+                    if (events.isEmpty()) {
+                        return Mono.just(0L);
+                    }
+                    var ids = events.stream().map(OrderEvent::id).toList();
+                    return publisher.publish(events)
+                            .then(mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), OrderEvent.class))
+                            .map(DeleteResult::getDeletedCount)
+                            .doOnNext(publishedEvents::increment);
+                });
+    }
+
+    // Takes the lease if it is free or expired and extends it if this instance holds it already. When
+    // another instance holds it, the upsert tries to insert a second lease document and fails.
+    private Mono<Boolean> renewLease() {
+        var now = Instant.now();
+        var query = Query.query(Criteria.where("_id").is(LEASE_ID)
+                .orOperator(Criteria.where("holder").is(instanceId), Criteria.where("expiresAt").lt(now)));
+        var update = new Update()
+                .set("holder", instanceId)
+                .set("expiresAt", now.plus(outboxProperties.relayLease()));
+        return mongoTemplate.upsert(query, update, LEASE_COLLECTION)
+                .thenReturn(true)
+                .onErrorResume(DuplicateKeyException.class, exception -> Mono.just(false));
+    }
+
+    private Mono<Void> updateLag() {
+        return mongoTemplate.findOne(new Query().with(OLDEST_FIRST), OrderEvent.class)
+                .map(oldest -> Duration.between(oldest.createdDate(), Instant.now()).toMillis())
+                .defaultIfEmpty(0L)
+                .doOnNext(lagMillis::set)
+                .then();
+    }
+}
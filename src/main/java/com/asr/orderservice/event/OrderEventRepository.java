@@ -0,0 +1,6 @@
+package com.asr.orderservice.event;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+public interface OrderEventRepository extends ReactiveCrudRepository<OrderEvent, String> {
+}
@@ -0,0 +1,6 @@
+package com.asr.orderservice.event;
+
+public enum OrderEventType {
+    ORDER_ACCEPTED,
+    ORDER_CANCELLED
+}
@@ -0,0 +1,76 @@
+package com.asr.orderservice.event;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes order events to the {@code order_events} outbox, within the transaction of the order change
+ * they belong to. The {@code createdDate} of an event is taken from the Mongo server when it is written.
+ * A change to an order is only written after the previous change to it committed, so the events of one
+ * order are dated in commit order, whichever instance wrote them, and {@link OrderEventRelay} publishes
+ * them in that order.
+ * <p>
+ * Without an {@link OrderEventPublisher} nothing drains the outbox, so no events are written at all.
+ */
+@Component
+public class OrderOutbox {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final String collectionName;
+    private final boolean enabled;
+
+    @Autowired
+    public OrderOutbox(ReactiveMongoTemplate mongoTemplate, Optional<OrderEventPublisher> orderEventPublisher) {
+        this(mongoTemplate, mongoTemplate.getCollectionName(OrderEvent.class), orderEventPublisher.isPresent());
+    }
+
+    public OrderOutbox(ReactiveMongoTemplate mongoTemplate, String collectionName, boolean enabled) {
+        this.mongoTemplate = mongoTemplate;
+        this.collectionName = collectionName;
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public Mono<Void> append(OrderEvent event) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return mongoTemplate.upsert(newEvent(), pending(event), OrderEvent.class, collectionName).then();
+    }
+
+    public Mono<Void> appendAll(List<OrderEvent> events) {
+        if (!enabled || events.isEmpty()) {
+            return Mono.empty();
+        }
+        var bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, OrderEvent.class, collectionName);
+        events.forEach(event -> bulk.upsert(newEvent(), pending(event)));
+        return bulk.execute().then();
+    }
+
+    // An upsert of a new id inserts the event. Unlike an insert, it can set the date on the server.
+    public static Query newEvent() {
+        return Query.query(Criteria.where("_id").is(new ObjectId()));
+    }
+
+    public static Update pending(OrderEvent event) {
+        return new Update()
+                .set("type", event.type())
+                .set("orderId", event.orderId())
+                .set("productId", event.productId())
+                .set("productPrice", event.productPrice())
+                .set("quantity", event.quantity())
+                .currentDate("createdDate");
+    }
+}
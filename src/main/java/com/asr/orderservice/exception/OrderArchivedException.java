@@ -0,0 +1,7 @@
+package com.asr.orderservice.exception;
+
+public class OrderArchivedException extends RuntimeException {
+    public OrderArchivedException(String orderId) {
+        super("Order with ID '" + orderId + "' is archived and can no longer be changed.");
+    }
+}
@@ -19,6 +19,24 @@ public class OrderExceptionHandler {
         return exception.getMessage();
     }
 
+    @ExceptionHandler(OrderVersionMismatchException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    String orderVersionMismatch(OrderVersionMismatchException exception) {
+        return exception.getMessage();
+    }
+
+    @ExceptionHandler(OrderArchivedException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    String orderArchived(OrderArchivedException exception) {
+        return exception.getMessage();
+    }
+
+    @ExceptionHandler(UnknownOrderFieldException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    String unknownOrderField(UnknownOrderFieldException exception) {
+        return exception.getMessage();
+    }
+
     // Collect meaningful error message about which Order fields were invalid
     // instead of returning an empty message.
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -0,0 +1,7 @@
+package com.asr.orderservice.exception;
+
+public class OrderVersionMismatchException extends RuntimeException {
+    public OrderVersionMismatchException(String orderId) {
+        super("Order with ID '" + orderId + "' does not match the expected version.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.asr.orderservice.exception;
+
+public class UnknownOrderFieldException extends RuntimeException {
+    public UnknownOrderFieldException(String field) {
+        super("Order field '" + field + "' does not exist.");
+    }
+}
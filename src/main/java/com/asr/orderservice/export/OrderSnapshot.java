@@ -0,0 +1,28 @@
+package com.asr.orderservice.export;
+
+import com.asr.orderservice.domain.OrderStatus;
+
+/**
+ * Column-oriented snapshot of the orders created in one time range. Row {@code i} of every column
+ * belongs to the same order. Product IDs are dictionary encoded: {@code productIds[productCodes[i]]}.
+ * Missing prices are {@link Double#NaN}, missing dates and quantities are zero. Statuses are stored as
+ * {@link OrderStatusCodes}.
+ */
+public record OrderSnapshot(
+        long[] createdDates,
+        long[] lastModifiedDates,
+        double[] prices,
+        int[] quantities,
+        byte[] statusCodes,
+        String[] productIds,
+        int[] productCodes
+) {
+    public int size() {
+        return createdDates.length;
+    }
+
+    // Null for an order without status.
+    public OrderStatus status(int row) {
+        return OrderStatusCodes.decode(statusCodes[row]);
+    }
+}
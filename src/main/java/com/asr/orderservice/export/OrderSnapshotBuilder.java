@@ -0,0 +1,61 @@
+package com.asr.orderservice.export;
+
+import com.asr.orderservice.domain.Order;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Appends orders column by column into growing primitive arrays.
+class OrderSnapshotBuilder {
+    private final Map<String, Integer> productCodesById = new HashMap<>();
+    private long[] createdDates = new long[256];
+    private long[] lastModifiedDates = new long[256];
+    private double[] prices = new double[256];
+    private int[] quantities = new int[256];
+    private byte[] statusCodes = new byte[256];
+    private int[] productCodes = new int[256];
+    private int size;
+
+    void add(Order order) {
+        if (size == createdDates.length) {
+            grow();
+        }
+        createdDates[size] = order.createdDate() == null ? 0 : order.createdDate().toEpochMilli();
+        lastModifiedDates[size] = order.lastModifiedDate() == null ? 0 : order.lastModifiedDate().toEpochMilli();
+        prices[size] = order.productPrice() == null ? Double.NaN : order.productPrice();
+        quantities[size] = order.quantity() == null ? 0 : order.quantity();
+        statusCodes[size] = OrderStatusCodes.encode(order.status());
+        productCodes[size] = productCodesById.computeIfAbsent(String.valueOf(order.productId()),
+                productId -> productCodesById.size());
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    OrderSnapshot build() {
+        var productIds = new String[productCodesById.size()];
+        productCodesById.forEach((productId, code) -> productIds[code] = productId);
+        return new OrderSnapshot(
+                Arrays.copyOf(createdDates, size),
+                Arrays.copyOf(lastModifiedDates, size),
+                Arrays.copyOf(prices, size),
+                Arrays.copyOf(quantities, size),
+                Arrays.copyOf(statusCodes, size),
+                productIds,
+                Arrays.copyOf(productCodes, size)
+        );
+    }
+
+    private void grow() {
+        int capacity = createdDates.length * 2;
+        createdDates = Arrays.copyOf(createdDates, capacity);
+        lastModifiedDates = Arrays.copyOf(lastModifiedDates, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        quantities = Arrays.copyOf(quantities, capacity);
+        statusCodes = Arrays.copyOf(statusCodes, capacity);
+        productCodes = Arrays.copyOf(productCodes, capacity);
+    }
+}
@@ -0,0 +1,137 @@
+package com.asr.orderservice.export;
+
+import com.asr.orderservice.config.ExportProperties;
+import com.asr.orderservice.domain.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exports the {@code orders} collection to {@link OrderSnapshot} files on local disk, one file per
+ * {@code createdDate} range. Ranges are exported in order and the end of the last one is kept as
+ * watermark, so every run continues where the previous one stopped. The watermark lives next to the
+ * files on local disk, so the export is off by default and enabled on a single instance only.
+ */
+@Component
+public class OrderSnapshotExporter {
+    private static final String WATERMARK_FILE = "watermark";
+    private static final String SNAPSHOT_EXTENSION = ".ordc";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ExportProperties exportProperties;
+
+    public OrderSnapshotExporter(ReactiveMongoTemplate mongoTemplate, ExportProperties exportProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.exportProperties = exportProperties;
+    }
+
+    // Runs on the scheduler thread, blocking here keeps two runs from overlapping.
+    @Scheduled(initialDelayString = "${store.export.interval}", fixedDelayString = "${store.export.interval}")
+    void scheduledExport() {
+        if (exportProperties.enabled()) {
+            exportPendingRanges().block();
+        }
+    }
+
+    /**
+     * Exports every complete range after the watermark.
+     *
+     * @return the number of ranges exported
+     */
+    public Mono<Long> exportPendingRanges() {
+        return startOfPendingRanges()
+                .flatMapMany(start -> Flux.fromIterable(pendingRangeStarts(start)))
+                .concatMap(start -> {
+                    var end = start.plus(exportProperties.rangeSize());
+                    return exportRange(start, end).then(writeWatermark(end));
+                })
+                .count();
+    }
+
+    private Mono<Void> exportRange(Instant start, Instant end) {
+        var query = Query.query(Criteria.where("createdDate").gte(start).lt(end))
+                .with(Sort.by("createdDate"));
+        query.fields().include("productId", "productPrice", "quantity", "status", "createdDate", "lastModifiedDate");
+        return mongoTemplate.find(query, Order.class)
+                .collect(OrderSnapshotBuilder::new, OrderSnapshotBuilder::add)
+                .filter(builder -> builder.size() > 0)
+                .flatMap(builder -> onDisk(() -> {
+                    var file = exportProperties.directory()
+                            .resolve("orders-" + start.toEpochMilli() + "-" + end.toEpochMilli() + SNAPSHOT_EXTENSION);
+                    // Written aside and moved, readers never see a partial file.
+                    var partialFile = file.resolveSibling(file.getFileName() + ".partial");
+                    OrderSnapshotFile.write(partialFile, builder.build());
+                    Files.move(partialFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }));
+    }
+
+    private List<Instant> pendingRangeStarts(Instant start) {
+        var rangeStarts = new ArrayList<Instant>();
+        var exportableUntil = Instant.now().minus(exportProperties.settleTime());
+        for (var rangeStart = start;
+             !rangeStart.plus(exportProperties.rangeSize()).isAfter(exportableUntil);
+             rangeStart = rangeStart.plus(exportProperties.rangeSize())) {
+            rangeStarts.add(rangeStart);
+        }
+        return rangeStarts;
+    }
+
+    // The watermark if there is one, otherwise the range of the oldest order.
+    private Mono<Instant> startOfPendingRanges() {
+        var watermarkFile = exportProperties.directory().resolve(WATERMARK_FILE);
+        var watermark = Mono.fromCallable(() -> Files.exists(watermarkFile)
+                        ? Instant.parse(Files.readString(watermarkFile).trim())
+                        : null)
+                .subscribeOn(Schedulers.boundedElastic());
+        var oldestOrder = mongoTemplate
+                .findOne(new Query().with(Sort.by("createdDate")).limit(1), Order.class)
+                .filter(order -> order.createdDate() != null)
+                .map(order -> alignToRange(order.createdDate()));
+        return watermark.switchIfEmpty(oldestOrder);
+    }
+
+    private Instant alignToRange(Instant instant) {
+        long rangeMillis = exportProperties.rangeSize().toMillis();
+        return Instant.ofEpochMilli(Math.floorDiv(instant.toEpochMilli(), rangeMillis) * rangeMillis);
+    }
+
+    private Mono<Void> writeWatermark(Instant watermark) {
+        return onDisk(() -> {
+            var watermarkFile = exportProperties.directory().resolve(WATERMARK_FILE);
+            var partialFile = watermarkFile.resolveSibling(WATERMARK_FILE + ".partial");
+            Files.writeString(partialFile, watermark.toString());
+            Files.move(partialFile, watermarkFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        });
+    }
+
+    private Mono<Void> onDisk(DiskWrite write) {
+        return Mono.<Void>fromRunnable(() -> {
+                    try {
+                        Files.createDirectories(exportProperties.directory());
+                        write.run();
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @FunctionalInterface
+    private interface DiskWrite {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,163 @@
+package com.asr.orderservice.export;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Reads and writes {@link OrderSnapshot} files. A file starts with a magic number and the row count,
+ * followed by one deflate-compressed block per column, each prefixed with its raw and compressed size.
+ * Columns are stored in declaration order of {@link OrderSnapshot}, the product dictionary comes as
+ * length-prefixed UTF-8 strings just before the product codes.
+ */
+public final class OrderSnapshotFile {
+    private static final int MAGIC = 0x4f524443; // "ORDC"
+    private static final int FORMAT_VERSION = 1;
+
+    private OrderSnapshotFile() {
+    }
+
+    public static void write(Path file, OrderSnapshot snapshot) throws IOException {
+        int rows = snapshot.size();
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, ByteBuffer.allocate(12).putInt(MAGIC).putInt(FORMAT_VERSION).putInt(rows).flip());
+
+            var createdDates = ByteBuffer.allocate(rows * Long.BYTES);
+            createdDates.asLongBuffer().put(snapshot.createdDates());
+            writeColumn(channel, createdDates.array());
+
+            var lastModifiedDates = ByteBuffer.allocate(rows * Long.BYTES);
+            lastModifiedDates.asLongBuffer().put(snapshot.lastModifiedDates());
+            writeColumn(channel, lastModifiedDates.array());
+
+            var prices = ByteBuffer.allocate(rows * Double.BYTES);
+            prices.asDoubleBuffer().put(snapshot.prices());
+            writeColumn(channel, prices.array());
+
+            var quantities = ByteBuffer.allocate(rows * Integer.BYTES);
+            quantities.asIntBuffer().put(snapshot.quantities());
+            writeColumn(channel, quantities.array());
+
+            writeColumn(channel, snapshot.statusCodes());
+
+            writeColumn(channel, encodeDictionary(snapshot.productIds()));
+
+            var productCodes = ByteBuffer.allocate(rows * Integer.BYTES);
+            productCodes.asIntBuffer().put(snapshot.productCodes());
+            writeColumn(channel, productCodes.array());
+        }
+    }
+
+    public static OrderSnapshot read(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var header = readFully(channel, 12);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("'" + file + "' is not an order snapshot.");
+            }
+            int rows = header.getInt();
+
+            var createdDates = new long[rows];
+            readColumn(channel).asLongBuffer().get(createdDates);
+            var lastModifiedDates = new long[rows];
+            readColumn(channel).asLongBuffer().get(lastModifiedDates);
+            var prices = new double[rows];
+            readColumn(channel).asDoubleBuffer().get(prices);
+            var quantities = new int[rows];
+            readColumn(channel).asIntBuffer().get(quantities);
+            var statusCodes = readColumn(channel).array();
+            var productIds = decodeDictionary(readColumn(channel));
+            var productCodes = new int[rows];
+            readColumn(channel).asIntBuffer().get(productCodes);
+
+            return new OrderSnapshot(createdDates, lastModifiedDates, prices, quantities, statusCodes,
+                    productIds, productCodes);
+        }
+    }
+
+    private static byte[] encodeDictionary(String[] values) {
+        var dictionary = new ByteArrayOutputStream();
+        var count = ByteBuffer.allocate(Integer.BYTES).putInt(values.length);
+        dictionary.writeBytes(count.array());
+        for (var value : values) {
+            var bytes = value.getBytes(StandardCharsets.UTF_8);
+            dictionary.writeBytes(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+            dictionary.writeBytes(bytes);
+        }
+        return dictionary.toByteArray();
+    }
+
+    private static String[] decodeDictionary(ByteBuffer dictionary) {
+        var values = new String[dictionary.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            var bytes = new byte[dictionary.getInt()];
+            dictionary.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static void writeColumn(FileChannel channel, byte[] raw) throws IOException {
+        var deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            var compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 2));
+            var chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            writeFully(channel, ByteBuffer.allocate(8).putInt(raw.length).putInt(compressed.size()).flip());
+            writeFully(channel, ByteBuffer.wrap(compressed.toByteArray()));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ByteBuffer readColumn(FileChannel channel) throws IOException {
+        var sizes = readFully(channel, 8);
+        int rawSize = sizes.getInt();
+        var compressed = readFully(channel, sizes.getInt());
+        var inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            var raw = new byte[rawSize];
+            int inflated = 0;
+            while (inflated < rawSize) {
+                int read = inflater.inflate(raw, inflated, rawSize - inflated);
+                if (read == 0 && (inflater.finished() || inflater.needsInput())) {
+                    throw new IOException("Truncated column in order snapshot.");
+                }
+                inflated += read;
+            }
+            return ByteBuffer.wrap(raw);
+        } catch (DataFormatException exception) {
+            throw new IOException("Corrupt column in order snapshot.", exception);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int size) throws IOException {
+        var buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of order snapshot.");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,40 @@
+package com.asr.orderservice.export;
+
+import com.asr.orderservice.domain.OrderStatus;
+
+/**
+ * Stable byte codes of {@link OrderStatus} in snapshot files. Codes are part of the file format: they
+ * never change and are never reused, whatever order the enum constants are declared in. Zero stands
+ * for an order without status.
+ */
+public final class OrderStatusCodes {
+    public static final byte NONE = 0;
+
+    private OrderStatusCodes() {
+    }
+
+    public static byte encode(OrderStatus status) {
+        if (status == null) {
+            return NONE;
+        }
+        // No default branch: a new status does not compile until it gets its own code.
+        return switch (status) {
+            case ACCEPTED -> 1;
+            case REJECTED -> 2;
+            case CANCELLED -> 3;
+            case DISPATCHED -> 4;
+        };
+    }
+
+    // Returns null for NONE.
+    public static OrderStatus decode(byte code) {
+        return switch (code) {
+            case NONE -> null;
+            case 1 -> OrderStatus.ACCEPTED;
+            case 2 -> OrderStatus.REJECTED;
+            case 3 -> OrderStatus.CANCELLED;
+            case 4 -> OrderStatus.DISPATCHED;
+            default -> throw new IllegalArgumentException("Unknown order status code " + code + ".");
+        };
+    }
+}
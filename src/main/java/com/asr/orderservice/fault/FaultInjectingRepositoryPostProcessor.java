@@ -0,0 +1,42 @@
+package com.asr.orderservice.fault;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Wraps every Spring Data repository, so each reactive call goes through FaultTarget.MONGO.
+@Component
+@Profile("fault-injection")
+class FaultInjectingRepositoryPostProcessor implements BeanPostProcessor {
+    // Looked up lazily, a post processor is created before the beans it would depend on.
+    private final ObjectProvider<FaultInjector> faultInjector;
+
+    FaultInjectingRepositoryPostProcessor(ObjectProvider<FaultInjector> faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof Repository<?, ?>)) {
+            return bean;
+        }
+        var proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            var result = invocation.proceed();
+            if (result instanceof Mono<?> mono) {
+                return faultInjector.getObject().inject(FaultTarget.MONGO, mono);
+            }
+            if (result instanceof Flux<?> flux) {
+                return faultInjector.getObject().inject(FaultTarget.MONGO, flux);
+            }
+            return result;
+        });
+        return proxyFactory.getProxy();
+    }
+}
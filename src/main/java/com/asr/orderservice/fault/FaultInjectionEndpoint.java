@@ -0,0 +1,77 @@
+package com.asr.orderservice.fault;
+
+import com.asr.orderservice.config.FaultInjectionProperties.Faults;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admin endpoint changing injected faults at runtime, e.g.
+ * {@code POST /actuator/faults/catalog {"enabled": true, "latency": "200ms", "errorRate": 0.1}}.
+ * Omitted values are kept, {@code DELETE /actuator/faults/catalog} restores the configured faults.
+ * Unknown targets and rates outside 0 to 1 are answered with 400.
+ */
+@Component
+@Profile("fault-injection")
+@Endpoint(id = "faults")
+public class FaultInjectionEndpoint {
+    private final FaultInjector faultInjector;
+
+    public FaultInjectionEndpoint(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @ReadOperation
+    public Map<FaultTarget, Faults> faults() {
+        return faultInjector.faults();
+    }
+
+    @WriteOperation
+    public Faults configure(@Selector String target, @Nullable Boolean enabled, @Nullable Duration latency,
+                            @Nullable Duration jitter, @Nullable Double errorRate, @Nullable Double stallRate,
+                            @Nullable Duration stallDuration) {
+        var faultTarget = target(target);
+        synchronized (faultInjector) {
+            var current = faultInjector.faults(faultTarget);
+            Faults updated;
+            try {
+                updated = new Faults(
+                        enabled != null ? enabled : current.enabled(),
+                        latency != null ? latency : current.latency(),
+                        jitter != null ? jitter : current.jitter(),
+                        errorRate != null ? errorRate : current.errorRate(),
+                        stallRate != null ? stallRate : current.stallRate(),
+                        stallDuration != null ? stallDuration : current.stallDuration()
+                );
+            } catch (IllegalArgumentException exception) {
+                throw new InvalidEndpointRequestException(exception.getMessage(), "Invalid faults");
+            }
+            faultInjector.setFaults(faultTarget, updated);
+            return updated;
+        }
+    }
+
+    @DeleteOperation
+    public Faults reset(@Selector String target) {
+        var faultTarget = target(target);
+        faultInjector.reset(faultTarget);
+        return faultInjector.faults(faultTarget);
+    }
+
+    private static FaultTarget target(String target) {
+        try {
+            return FaultTarget.valueOf(target.toUpperCase());
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidEndpointRequestException("Unknown fault target '" + target + "'.", "Unknown target");
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.asr.orderservice.fault;
+
+import com.asr.orderservice.config.FaultInjectionProperties;
+import com.asr.orderservice.config.FaultInjectionProperties.Faults;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Degrades calls to Catalog Service and Mongo on purpose, to see how timeouts, retries and fallbacks
+ * behave before a real incident shows it. Faults start as configured under
+ * {@code store.fault-injection} and are changed at runtime through {@link FaultInjectionEndpoint}.
+ */
+@Component
+@Profile("fault-injection")
+public class FaultInjector {
+    private final FaultInjectionProperties faultInjectionProperties;
+    private final Map<FaultTarget, Faults> faults = new EnumMap<>(FaultTarget.class);
+
+    public FaultInjector(FaultInjectionProperties faultInjectionProperties) {
+        this.faultInjectionProperties = faultInjectionProperties;
+        for (var target : FaultTarget.values()) {
+            faults.put(target, configured(target));
+        }
+    }
+
+    public synchronized Map<FaultTarget, Faults> faults() {
+        return Map.copyOf(faults);
+    }
+
+    public synchronized Faults faults(FaultTarget target) {
+        return faults.get(target);
+    }
+
+    public synchronized void setFaults(FaultTarget target, Faults targetFaults) {
+        faults.put(target, targetFaults);
+    }
+
+    public synchronized void reset(FaultTarget target) {
+        faults.put(target, configured(target));
+    }
+
+    // Failed catalog calls look like an overloaded catalog, so the client retries them as usual.
+    public ExchangeFilterFunction catalogFilter() {
+        return (request, next) -> inject(FaultTarget.CATALOG, next.exchange(request),
+                () -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+    }
+
+    public <T> Mono<T> inject(FaultTarget target, Mono<T> call) {
+        return inject(target, call, () -> Mono.error(new InjectedFaultException(target)));
+    }
+
+    public <T> Flux<T> inject(FaultTarget target, Flux<T> call) {
+        return inject(target, Mono.<Void>empty(), () -> Mono.<Void>error(new InjectedFaultException(target)))
+                .thenMany(call);
+    }
+
+    // Decided per subscription, so every retry rolls the dice again.
+    private <T> Mono<T> inject(FaultTarget target, Mono<T> call, Supplier<Mono<T>> failure) {
+        return Mono.defer(() -> {
+            var targetFaults = faults(target);
+            if (!targetFaults.enabled()) {
+                return call;
+            }
+            var random = ThreadLocalRandom.current();
+            var delay = random.nextDouble() < targetFaults.stallRate()
+                    ? targetFaults.stallDuration()
+                    : targetFaults.latency().plus(exponential(targetFaults.jitter(), random));
+            var outcome = random.nextDouble() < targetFaults.errorRate() ? failure.get() : call;
+            return delay.isZero() ? outcome : Mono.delay(delay).then(outcome);
+        });
+    }
+
+    private static Duration exponential(Duration mean, ThreadLocalRandom random) {
+        if (mean.isZero()) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos((long) (-mean.toNanos() * Math.log(1 - random.nextDouble())));
+    }
+
+    private Faults configured(FaultTarget target) {
+        return switch (target) {
+            case CATALOG -> faultInjectionProperties.catalog();
+            case MONGO -> faultInjectionProperties.mongo();
+        };
+    }
+}
@@ -0,0 +1,5 @@
+package com.asr.orderservice.fault;
+
+public enum FaultTarget {
+    CATALOG, MONGO
+}
@@ -0,0 +1,7 @@
+package com.asr.orderservice.fault;
+
+public class InjectedFaultException extends RuntimeException {
+    public InjectedFaultException(FaultTarget target) {
+        super("Injected " + target.name().toLowerCase() + " fault.");
+    }
+}
@@ -0,0 +1,82 @@
+package com.asr.orderservice.inventory;
+
+import com.asr.orderservice.config.WarmUpProperties;
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderStatus;
+import com.asr.orderservice.product.ProductCache;
+import com.asr.orderservice.product.ProductClient;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Looks up the most ordered products of the recent past and keeps them in the {@link ProductCache}, so
+ * orders for them skip the catalog and the first orders after a deploy find open catalog connections and
+ * compiled lookup code. Nothing is leased: warm stock would sit idle and be
+ * handed back by every reconciliation. As an {@link ApplicationRunner} it completes before the
+ * application reports ready, and it repeats on a schedule so the cached products are refreshed before
+ * they expire.
+ */
+@Component
+public class HotProductWarmer implements ApplicationRunner {
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ProductClient productClient;
+    private final WarmUpProperties warmUpProperties;
+
+    public HotProductWarmer(ReactiveMongoTemplate mongoTemplate, ProductClient productClient,
+                            WarmUpProperties warmUpProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.productClient = productClient;
+        this.warmUpProperties = warmUpProperties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (warmUpProperties.enabled()) {
+            // A slow catalog must not keep the instance from starting, whatever is warm by then is kept.
+            warmUp().timeout(warmUpProperties.timeout(), Mono.empty())
+                    .onErrorResume(exception -> Mono.empty())
+                    .block();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${store.warm-up.interval}", fixedDelayString = "${store.warm-up.interval}")
+    void scheduledWarmUp() {
+        if (warmUpProperties.enabled()) {
+            warmUp().block();
+        }
+    }
+
+    /**
+     * @return the number of hot products found
+     */
+    public Mono<Long> warmUp() {
+        return findHotProductIds()
+                .flatMap(productId -> productClient.refreshProduct(productId).thenReturn(productId),
+                        warmUpProperties.concurrency())
+                .count();
+    }
+
+    Flux<String> findHotProductIds() {
+        var since = Instant.now().minus(warmUpProperties.window());
+        var aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("createdDate").gte(since)
+                        .and("status").ne(OrderStatus.REJECTED.name())),
+                Aggregation.group("productId").count().as("orders"),
+                Aggregation.sort(Sort.Direction.DESC, "orders"),
+                Aggregation.limit(warmUpProperties.topProducts())
+        );
+        return mongoTemplate.aggregate(aggregation, Order.class, Document.class)
+                .map(document -> document.getString("_id"));
+    }
+}
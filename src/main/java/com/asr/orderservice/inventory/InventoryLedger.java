@@ -0,0 +1,186 @@
+package com.asr.orderservice.inventory;
+
+import com.asr.orderservice.config.InventoryProperties;
+import com.asr.orderservice.product.Product;
+import com.asr.orderservice.product.ProductClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Order-side stock ledger. Units are leased from Catalog Service in blocks and orders are reserved
+ * against the local allocation with a lock-free counter, so only an exhausted allocation needs a
+ * catalog round-trip. The lease response carries the product, so that is a single call. Unused units
+ * are handed back on every reconciliation.
+ * <p>
+ * Leasing is off unless {@link InventoryProperties#leasing()} is set, since it is blocked on the lease
+ * and return endpoints Catalog Service does not offer yet. Until then every reservation only checks the
+ * stock of the product.
+ */
+@Component
+public class InventoryLedger {
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedger.class);
+
+    private final ConcurrentMap<String, Allocation> allocations = new ConcurrentHashMap<>();
+    private final ProductClient productClient;
+    private final InventoryProperties inventoryProperties;
+    private final Counter unreturnedUnits;
+
+    public InventoryLedger(ProductClient productClient, InventoryProperties inventoryProperties,
+                           MeterRegistry meterRegistry) {
+        this.productClient = productClient;
+        this.inventoryProperties = inventoryProperties;
+        this.unreturnedUnits = Counter.builder("orders.inventory.unreturned.units")
+                .description("Released units Catalog Service did not take back")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves {@code quantity} units of a product.
+     *
+     * @return the product the units were reserved for, or empty if there is not enough stock
+     */
+    public Mono<Product> reserve(String productId, int quantity) {
+        if (!inventoryProperties.leasing()) {
+            return productClient.getProduct(productId)
+                    .filter(product -> product.units() >= quantity);
+        }
+        var allocation = allocations.get(productId);
+        if (allocation != null && allocation.tryReserve(quantity)) {
+            return Mono.just(allocation.product);
+        }
+        return lease(productId, quantity)
+                .filter(leased -> leased.tryReserve(quantity))
+                .map(leased -> leased.product);
+    }
+
+    public Mono<Void> release(String productId, int quantity) {
+        if (!inventoryProperties.leasing()) {
+            return Mono.empty();
+        }
+        // Under the lock of the entry, so reconcile cannot drain and drop the allocation in between.
+        var allocation = allocations.computeIfPresent(productId, (id, existing) -> {
+            existing.release(quantity);
+            return existing;
+        });
+        if (allocation != null) {
+            return Mono.empty();
+        }
+        return productClient.returnUnits(productId, quantity)
+                .doOnNext(returned -> {
+                    if (!returned) {
+                        unreturnedUnits.increment(quantity);
+                        log.warn("Catalog Service did not take back {} units of product {}", quantity, productId);
+                    }
+                })
+                .then();
+    }
+
+    @Scheduled(initialDelayString = "${store.inventory.reconcile-interval}",
+            fixedDelayString = "${store.inventory.reconcile-interval}")
+    void scheduledReconcile() {
+        reconcile().block();
+    }
+
+    /**
+     * Hands every unreserved leased unit back to Catalog Service.
+     *
+     * @return the number of units returned
+     */
+    public Mono<Long> reconcile() {
+        return Flux.fromIterable(allocations.entrySet())
+                .concatMap(entry -> {
+                    var productId = entry.getKey();
+                    var leftover = drain(productId, entry.getValue());
+                    if (leftover == 0) {
+                        return Mono.just(0L);
+                    }
+                    return productClient.returnUnits(productId, leftover)
+                            .map(returned -> {
+                                if (!returned) {
+                                    restore(productId, entry.getValue(), leftover);
+                                }
+                                return returned ? leftover : 0L;
+                            });
+                })
+                .reduce(0L, Long::sum);
+    }
+
+    // A lease short of the quantity still joins the allocation, reconcile hands its units back.
+    private Mono<Allocation> lease(String productId, int quantity) {
+        return productClient
+                .leaseUnits(productId, Math.max(inventoryProperties.leaseSize(), quantity))
+                .map(lease -> allocations.compute(productId, (id, existing) -> {
+                    if (existing == null) {
+                        return new Allocation(lease.product(), lease.units());
+                    }
+                    existing.refresh(lease.product(), lease.units());
+                    return existing;
+                }));
+    }
+
+    // Drops the allocation and takes its units in one step under the lock of the entry: a release either
+    // lands before and is drained, or finds no allocation and returns its units itself.
+    private long drain(String productId, Allocation allocation) {
+        var drained = new long[1];
+        allocations.computeIfPresent(productId, (id, existing) -> {
+            if (existing != allocation) {
+                return existing;
+            }
+            drained[0] = existing.drain();
+            return null;
+        });
+        return drained[0];
+    }
+
+    private void restore(String productId, Allocation allocation, long units) {
+        allocations.compute(productId, (id, existing) -> {
+            var target = existing != null ? existing : allocation;
+            target.release(units);
+            return target;
+        });
+    }
+
+    private static final class Allocation {
+        private final AtomicLong available;
+        private volatile Product product;
+
+        private Allocation(Product product, long units) {
+            this.product = product;
+            this.available = new AtomicLong(units);
+        }
+
+        private boolean tryReserve(long quantity) {
+            long current;
+            do {
+                current = available.get();
+                if (current < quantity) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - quantity));
+            return true;
+        }
+
+        private void release(long quantity) {
+            available.addAndGet(quantity);
+        }
+
+        private void refresh(Product product, long leasedUnits) {
+            this.product = product;
+            available.addAndGet(leasedUnits);
+        }
+
+        private long drain() {
+            return available.getAndSet(0);
+        }
+    }
+}
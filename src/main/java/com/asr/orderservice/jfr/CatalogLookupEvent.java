@@ -0,0 +1,11 @@
+package com.asr.orderservice.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.asr.orderservice.CatalogLookup")
+@Label("Catalog Lookup")
+@Description("Product fetched from Catalog Service, retries included")
+class CatalogLookupEvent extends OrderPipelineEvent {
+}
@@ -0,0 +1,103 @@
+package com.asr.orderservice.jfr;
+
+import com.asr.orderservice.config.FlightRecordingProperties;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Admin endpoint controlling a single bounded JFR recording: {@code POST /actuator/flightrecording/start},
+ * {@code .../dump} and {@code .../stop}. Dumps are written to {@link FlightRecordingProperties#directory()}.
+ * An unknown action or a dump without a running recording is answered with 400.
+ */
+@Component
+@Endpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+    private final FlightRecordingProperties flightRecordingProperties;
+    private Recording recording;
+
+    public FlightRecordingEndpoint(FlightRecordingProperties flightRecordingProperties) {
+        this.flightRecordingProperties = flightRecordingProperties;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        if (recording == null) {
+            return Map.of("state", RecordingState.CLOSED);
+        }
+        return Map.of("state", recording.getState(), "startTime", recording.getStartTime());
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> control(@Selector String action) {
+        return switch (action) {
+            case "start" -> start();
+            case "dump" -> Map.of("file", dump());
+            case "stop" -> stop();
+            default -> throw new InvalidEndpointRequestException("Unknown action '" + action + "'.", "Unknown action");
+        };
+    }
+
+    private Map<String, Object> start() {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            recording = newRecording();
+            recording.start();
+        }
+        return status();
+    }
+
+    private Map<String, Object> stop() {
+        if (recording == null) {
+            return status();
+        }
+        var file = dump();
+        recording.close();
+        recording = null;
+        return Map.of("state", RecordingState.CLOSED, "file", file);
+    }
+
+    private String dump() {
+        if (recording == null) {
+            throw new InvalidEndpointRequestException("No flight recording is running.", "No recording");
+        }
+        try {
+            Files.createDirectories(flightRecordingProperties.directory());
+            Path file = flightRecordingProperties.directory()
+                    .resolve("order-service-" + Instant.now().toEpochMilli() + ".jfr");
+            recording.dump(file);
+            return file.toAbsolutePath().toString();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private Recording newRecording() {
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration("default");
+        } catch (IOException | ParseException exception) {
+            throw new IllegalStateException("Cannot load the default JFR configuration.", exception);
+        }
+        var newRecording = new Recording(configuration);
+        newRecording.setName("order-service");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(flightRecordingProperties.maxAge());
+        newRecording.setMaxSize(flightRecordingProperties.maxSize().toBytes());
+        PipelineEvents.EVENT_CLASSES.forEach(eventClass -> newRecording.enable(eventClass).withoutThreshold());
+        return newRecording;
+    }
+}
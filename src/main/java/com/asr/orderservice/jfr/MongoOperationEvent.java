@@ -0,0 +1,13 @@
+package com.asr.orderservice.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.asr.orderservice.MongoOperation")
+@Label("Mongo Operation")
+@Description("Round-trip of a single order read or write")
+class MongoOperationEvent extends OrderPipelineEvent {
+    @Label("Operation")
+    String operation;
+}
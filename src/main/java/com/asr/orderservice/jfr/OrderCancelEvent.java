@@ -0,0 +1,11 @@
+package com.asr.orderservice.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.asr.orderservice.OrderCancel")
+@Label("Order Cancel")
+@Description("Complete cancellation of an order, reservation release included")
+class OrderCancelEvent extends OrderPipelineEvent {
+}
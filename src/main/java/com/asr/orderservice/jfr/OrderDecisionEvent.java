@@ -0,0 +1,11 @@
+package com.asr.orderservice.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.asr.orderservice.OrderDecision")
+@Label("Order Decision")
+@Description("Reservation and accept or reject decision of a submitted order")
+class OrderDecisionEvent extends OrderPipelineEvent {
+}
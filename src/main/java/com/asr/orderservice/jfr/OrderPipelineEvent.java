@@ -0,0 +1,20 @@
+package com.asr.orderservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+// Common fields of the order pipeline events. Stack traces are left out to keep the events cheap.
+@Category({"Order Service"})
+@StackTrace(false)
+abstract class OrderPipelineEvent extends Event {
+    @Label("Product ID")
+    String productId;
+
+    @Label("Order ID")
+    String orderId;
+
+    @Label("Outcome")
+    String outcome;
+}
@@ -0,0 +1,88 @@
+package com.asr.orderservice.jfr;
+
+import jdk.jfr.EventType;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Wraps pipeline stages in JFR events. When no recording enables an event type, the stage is returned
+ * untouched: nothing is allocated and only a volatile read is paid.
+ */
+public final class PipelineEvents {
+    static final List<Class<? extends OrderPipelineEvent>> EVENT_CLASSES = List.of(
+            CatalogLookupEvent.class, OrderDecisionEvent.class, MongoOperationEvent.class, OrderCancelEvent.class);
+
+    private static final EventType CATALOG_LOOKUP = EventType.getEventType(CatalogLookupEvent.class);
+    private static final EventType ORDER_DECISION = EventType.getEventType(OrderDecisionEvent.class);
+    private static final EventType MONGO_OPERATION = EventType.getEventType(MongoOperationEvent.class);
+    private static final EventType ORDER_CANCEL = EventType.getEventType(OrderCancelEvent.class);
+
+    private PipelineEvents() {
+    }
+
+    public static <T> Mono<T> catalogLookup(String productId, Mono<T> lookup) {
+        if (!CATALOG_LOOKUP.isEnabled()) {
+            return lookup;
+        }
+        return timed(lookup, () -> {
+            var event = new CatalogLookupEvent();
+            event.productId = productId;
+            return event;
+        }, product -> "found");
+    }
+
+    public static <T> Mono<T> orderDecision(String productId, Mono<T> decision, Function<T, ?> outcome) {
+        if (!ORDER_DECISION.isEnabled()) {
+            return decision;
+        }
+        return timed(decision, () -> {
+            var event = new OrderDecisionEvent();
+            event.productId = productId;
+            return event;
+        }, outcome);
+    }
+
+    public static <T> Mono<T> mongoOperation(String operation, String orderId, Mono<T> call) {
+        if (!MONGO_OPERATION.isEnabled()) {
+            return call;
+        }
+        return timed(call, () -> {
+            var event = new MongoOperationEvent();
+            event.operation = operation;
+            event.orderId = orderId;
+            return event;
+        }, document -> "ok");
+    }
+
+    public static <T> Mono<T> orderCancel(String orderId, Mono<T> cancellation) {
+        if (!ORDER_CANCEL.isEnabled()) {
+            return cancellation;
+        }
+        return timed(cancellation, () -> {
+            var event = new OrderCancelEvent();
+            event.orderId = orderId;
+            return event;
+        }, order -> "cancelled");
+    }
+
+    private static <T> Mono<T> timed(Mono<T> source, Supplier<? extends OrderPipelineEvent> newEvent,
+                                     Function<T, ?> outcome) {
+        return Mono.defer(() -> {
+            var event = newEvent.get();
+            event.begin();
+            return source
+                    .doOnNext(value -> event.outcome = String.valueOf(outcome.apply(value)))
+                    .doOnError(error -> event.outcome = "error: " + error.getClass().getSimpleName())
+                    .doFinally(signal -> {
+                        if (event.outcome == null) {
+                            event.outcome = signal == SignalType.CANCEL ? "cancelled" : "empty";
+                        }
+                        event.commit();
+                    });
+        });
+    }
+}
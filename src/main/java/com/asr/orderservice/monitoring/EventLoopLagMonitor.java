@@ -0,0 +1,94 @@
+package com.asr.orderservice.monitoring;
+
+import com.asr.orderservice.config.EventLoopMonitorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.reactive.ReactorResourceFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gauges the saturation of every Netty event loop of the server: the queueing delay of a probe task
+ * ({@code netty.eventloop.lag}) and the number of tasks waiting ({@code netty.eventloop.pending.tasks}).
+ * A growing lag means something keeps a loop busy, most likely a blocking call.
+ * <p>
+ * The probes run on a thread of their own. On the shared {@code @Scheduled} pool a long archive or
+ * export run would delay them and the gauges would go stale exactly when they are needed.
+ */
+@Component
+public class EventLoopLagMonitor implements DisposableBean {
+    private final List<LoopProbe> probes = new ArrayList<>();
+    private final Scheduler scheduler = Schedulers.newSingle("event-loop-monitor", true);
+
+    public EventLoopLagMonitor(ReactorResourceFactory reactorResourceFactory, MeterRegistry meterRegistry,
+                               EventLoopMonitorProperties eventLoopMonitorProperties) {
+        int index = 0;
+        for (EventExecutor executor : reactorResourceFactory.getLoopResources().onServer(true)) {
+            var loop = String.valueOf(index++);
+            var probe = new LoopProbe(executor);
+            Gauge.builder("netty.eventloop.lag", probe, LoopProbe::lagMillis)
+                    .description("Delay between scheduling a task on the event loop and running it")
+                    .baseUnit("milliseconds")
+                    .tag("loop", loop)
+                    .register(meterRegistry);
+            if (executor instanceof SingleThreadEventExecutor singleThreadExecutor) {
+                Gauge.builder("netty.eventloop.pending.tasks", singleThreadExecutor,
+                                SingleThreadEventExecutor::pendingTasks)
+                        .description("Tasks waiting in the event loop queue")
+                        .tag("loop", loop)
+                        .register(meterRegistry);
+            }
+            probes.add(probe);
+        }
+        var interval = eventLoopMonitorProperties.interval();
+        scheduler.schedulePeriodically(this::probeEventLoops, interval.toNanos(), interval.toNanos(),
+                TimeUnit.NANOSECONDS);
+    }
+
+    void probeEventLoops() {
+        probes.forEach(LoopProbe::probe);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private static final class LoopProbe {
+        private final EventExecutor executor;
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private volatile long submittedNanos;
+        private volatile long lagNanos;
+
+        private LoopProbe(EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        private void probe() {
+            long now = System.nanoTime();
+            // The previous probe has not run yet: the loop is at least that far behind.
+            if (!pending.compareAndSet(false, true)) {
+                lagNanos = Math.max(lagNanos, now - submittedNanos);
+                return;
+            }
+            submittedNanos = now;
+            executor.execute(() -> {
+                lagNanos = System.nanoTime() - now;
+                pending.set(false);
+            });
+        }
+
+        private double lagMillis() {
+            return lagNanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.asr.orderservice.product;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+// Thread-per-request counterpart of ProductClient for the imperative profile, with the same retries.
+@Component
+@Profile("imperative")
+public class BlockingProductClient {
+    private static final String PRODUCTS_ROOT_API = "/products/";
+    private static final int MAX_RETRIES = 3;
+    private static final Duration FIRST_BACKOFF = Duration.ofMillis(100);
+    private final RestTemplate restTemplate;
+    private final NotFoundProductFilter notFoundProductFilter;
+
+    public BlockingProductClient(RestTemplate blockingRestTemplate, NotFoundProductFilter notFoundProductFilter) {
+        this.restTemplate = blockingRestTemplate;
+        this.notFoundProductFilter = notFoundProductFilter;
+    }
+
+    // Returns null when the product does not exist or Catalog Service does not answer.
+    public Product getProduct(String productId) {
+        if (notFoundProductFilter.absorbs(productId)) {
+            return null;
+        }
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return restTemplate.getForObject(PRODUCTS_ROOT_API + productId, Product.class);
+            } catch (HttpClientErrorException.NotFound exception) {
+                notFoundProductFilter.add(productId);
+                return null;
+            } catch (RestClientException exception) {
+                if (attempt == MAX_RETRIES || !backOff(attempt)) {
+                    return null;
+                }
+            }
+        }
+    }
+
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(FIRST_BACKOFF.toMillis() << attempt);
+            return true;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
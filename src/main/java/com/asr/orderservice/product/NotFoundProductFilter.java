@@ -0,0 +1,121 @@
+package com.asr.orderservice.product;
+
+import com.asr.orderservice.config.NegativeLookupProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time-decaying set of product IDs Catalog Service answered with 404, backed by two rotating Bloom
+ * filter generations of fixed size. A product is remembered for one to two rotation intervals, so one
+ * created after a miss becomes orderable again without a restart. False positives are possible but,
+ * with the default sizing and a hundred thousand unknown IDs per generation, around 5e-6 for one
+ * generation and 1e-5, one in a hundred thousand, for the two that are checked.
+ */
+@Component
+public class NotFoundProductFilter {
+    private final NegativeLookupProperties negativeLookupProperties;
+    private final Counter absorbedLookups;
+    private final Counter skippedRejections;
+    private volatile AtomicLongArray current;
+    private volatile AtomicLongArray previous;
+
+    public NotFoundProductFilter(NegativeLookupProperties negativeLookupProperties, MeterRegistry meterRegistry) {
+        this.negativeLookupProperties = negativeLookupProperties;
+        this.current = newGeneration();
+        this.previous = newGeneration();
+        this.absorbedLookups = Counter.builder("orders.catalog.negative-lookups")
+                .description("Catalog lookups answered by the not-found filter")
+                .register(meterRegistry);
+        this.skippedRejections = Counter.builder("orders.rejections.skipped")
+                .description("Rejected orders for unknown products that were not stored again")
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String productId) {
+        if (!negativeLookupProperties.enabled()) {
+            return false;
+        }
+        return contains(current, productId) || contains(previous, productId);
+    }
+
+    // Same as mightContain, but counts the lookup as absorbed.
+    boolean absorbs(String productId) {
+        if (mightContain(productId)) {
+            absorbedLookups.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void add(String productId) {
+        if (!negativeLookupProperties.enabled()) {
+            return;
+        }
+        var generation = current;
+        long hash = hash(productId);
+        for (int i = 0; i < negativeLookupProperties.hashes(); i++) {
+            setBit(generation, bitIndex(hash, i));
+        }
+    }
+
+    public void recordSkippedRejection() {
+        skippedRejections.increment();
+    }
+
+    @Scheduled(fixedRateString = "${store.negative-lookup.rotation-interval}")
+    void rotate() {
+        previous = current;
+        current = newGeneration();
+    }
+
+    private boolean contains(AtomicLongArray generation, String productId) {
+        long hash = hash(productId);
+        for (int i = 0; i < negativeLookupProperties.hashes(); i++) {
+            int bit = bitIndex(hash, i);
+            if ((generation.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void setBit(AtomicLongArray generation, int bit) {
+        int word = bit >>> 6;
+        long mask = 1L << bit;
+        long value;
+        do {
+            value = generation.get(word);
+            if ((value & mask) != 0) {
+                return;
+            }
+        } while (!generation.compareAndSet(word, value, value | mask));
+    }
+
+    // Double hashing: the i-th index is h1 + i * h2, both halves of one 64-bit hash.
+    private int bitIndex(long hash, int i) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return Math.floorMod(h1 + i * h2, negativeLookupProperties.bits());
+    }
+
+    // 64-bit FNV-1a over the characters of the ID, followed by a murmur finalizer.
+    private static long hash(String productId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < productId.length(); i++) {
+            hash ^= productId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private AtomicLongArray newGeneration() {
+        return new AtomicLongArray((negativeLookupProperties.bits() + 63) / 64);
+    }
+}
@@ -0,0 +1,71 @@
+package com.asr.orderservice.product;
+
+import com.asr.orderservice.config.ProductCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of catalog products, filled by {@link com.asr.orderservice.inventory.HotProductWarmer}
+ * and read by {@link ProductClient#getProduct(String)}. An entry expires {@link ProductCacheProperties#ttl()}
+ * after it was stored, so its stock count may be that old. Without leasing that count is only checked
+ * against the order quantity and never decremented here, so a stale count changes nothing the catalog
+ * would not already have allowed a moment earlier.
+ */
+@Component
+public class ProductCache {
+    private final ProductCacheProperties productCacheProperties;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public ProductCache(ProductCacheProperties productCacheProperties) {
+        this.productCacheProperties = productCacheProperties;
+    }
+
+    /**
+     * @return the cached product, or null if it is not cached or expired
+     */
+    public Product get(String productId) {
+        var entry = entries.get(productId);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expired(System.nanoTime())) {
+            entries.remove(productId, entry);
+            return null;
+        }
+        return entry.product;
+    }
+
+    // Only the warmer writes, so writes are serialized to keep the bound exact while reads stay lock-free.
+    public synchronized void put(Product product) {
+        if (!productCacheProperties.enabled() || productCacheProperties.maxSize() <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (!entries.containsKey(product.id()) && entries.size() >= productCacheProperties.maxSize()) {
+            entries.values().removeIf(entry -> entry.expired(now));
+            if (entries.size() >= productCacheProperties.maxSize()) {
+                entries.entrySet().stream()
+                        .min(Comparator.comparingLong(entry -> entry.getValue().expiresAt))
+                        .ifPresent(eldest -> entries.remove(eldest.getKey()));
+            }
+        }
+        entries.put(product.id(), new Entry(product, now + productCacheProperties.ttl().toNanos()));
+    }
+
+    public void evict(String productId) {
+        entries.remove(productId);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(Product product, long expiresAt) {
+        boolean expired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.asr.orderservice.product;
 
+import com.asr.orderservice.jfr.PipelineEvents;
+import com.asr.orderservice.timing.ServerTimingStages;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
@@ -11,24 +13,90 @@ import java.time.Duration;
 @Component
 public class ProductClient {
     private static final String PRODUCTS_ROOT_API = "/products/";
+    private static final String LEASES_API = "/leases";
+    private static final String RETURNS_API = "/returns";
     private final WebClient webClient;
+    private final NotFoundProductFilter notFoundProductFilter;
+    private final ProductCache productCache;
+    private final ServerTimingStages serverTimingStages;
 
-    public ProductClient(WebClient webClient) {
+    public ProductClient(WebClient webClient, NotFoundProductFilter notFoundProductFilter, ProductCache productCache,
+                         ServerTimingStages serverTimingStages) {
         this.webClient = webClient;
+        this.notFoundProductFilter = notFoundProductFilter;
+        this.productCache = productCache;
+        this.serverTimingStages = serverTimingStages;
     }
 
     public Mono<Product> getProduct(String productId) {
-        return webClient
+        var cached = productCache.get(productId);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return lookUp(productId);
+    }
+
+    // Looks the product up in the catalog even if it is cached, and caches what the catalog answers.
+    public Mono<Product> refreshProduct(String productId) {
+        return lookUp(productId).doOnNext(productCache::put);
+    }
+
+    private Mono<Product> lookUp(String productId) {
+        // Products the catalog recently answered with 404 are not looked up again.
+        if (notFoundProductFilter.absorbs(productId)) {
+            return Mono.empty();
+        }
+        var attempt = webClient
                 .get()
                 .uri(PRODUCTS_ROOT_API + productId)
                 .retrieve()
-                .bodyToMono(Product.class)
+                .bodyToMono(Product.class);
+        var lookup = serverTimingStages.counted("catalog-attempts", attempt)
                 .timeout(Duration.ofSeconds(3), Mono.empty())
-                .onErrorResume(WebClientResponseException.NotFound.class,
-                        exception -> Mono.empty())
+                .onErrorResume(WebClientResponseException.NotFound.class, exception -> {
+                    notFoundProductFilter.add(productId);
+                    productCache.evict(productId);
+                    return Mono.empty();
+                })
                 // If any error happens after the 3 retry attempts, catch the exception and return an empty object.
                 .retryWhen(
                         Retry.backoff(3, Duration.ofMillis(100))
                 ).onErrorResume(Exception.class, exception -> Mono.empty());
+        return serverTimingStages.timed("catalog", PipelineEvents.catalogLookup(productId, lookup));
+    }
+
+    // Leasing is not idempotent, so it is never retried. An error response means no units were leased, but
+    // the timeout may fire after Catalog Service committed the lease: those units are not known here and
+    // stay leased until the catalog expires the lease. The lease may hold fewer units than requested.
+    public Mono<ProductLease> leaseUnits(String productId, long units) {
+        if (notFoundProductFilter.absorbs(productId)) {
+            return Mono.empty();
+        }
+        return webClient
+                .post()
+                .uri(PRODUCTS_ROOT_API + productId + LEASES_API)
+                .bodyValue(new ProductLease(units))
+                .retrieve()
+                .bodyToMono(ProductLease.class)
+                .filter(lease -> lease.product() != null)
+                .timeout(Duration.ofSeconds(3), Mono.empty())
+                .onErrorResume(WebClientResponseException.NotFound.class, exception -> {
+                    notFoundProductFilter.add(productId);
+                    return Mono.empty();
+                })
+                .onErrorResume(Exception.class, exception -> Mono.empty());
+    }
+
+    // Emits false when the units could not be handed back, so the caller can keep them and try later.
+    public Mono<Boolean> returnUnits(String productId, long units) {
+        return webClient
+                .post()
+                .uri(PRODUCTS_ROOT_API + productId + RETURNS_API)
+                .bodyValue(new ProductLease(units))
+                .retrieve()
+                .toBodilessEntity()
+                .map(response -> true)
+                .timeout(Duration.ofSeconds(3), Mono.just(false))
+                .onErrorResume(Exception.class, exception -> Mono.just(false));
     }
 }
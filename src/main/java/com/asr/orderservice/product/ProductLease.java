@@ -0,0 +1,13 @@
+package com.asr.orderservice.product;
+
+// TODO: Expose lease endpoints in Catalog Service, accepting and returning this DTO
+// Requests only carry the units. The lease response also carries the product at the time of the lease,
+// so leasing needs no separate product lookup.
+public record ProductLease(
+        Long units,
+        Product product
+) {
+    public ProductLease(Long units) {
+        this(units, null);
+    }
+}
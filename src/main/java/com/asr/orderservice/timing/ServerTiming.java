@@ -0,0 +1,49 @@
+package com.asr.orderservice.timing;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Stage durations of one sampled request, carried in the Reactor context under this class as key.
+ * Stages with the same name add up. Only {@link ServerTimingFilter} creates it and only
+ * {@link ServerTimingStages} records into it.
+ */
+final class ServerTiming {
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Long> durations = new LinkedHashMap<>();
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private long handledNanos;
+
+    synchronized void addDuration(String stage, long nanos) {
+        durations.merge(stage, nanos, Long::sum);
+    }
+
+    synchronized void increment(String stage) {
+        counts.merge(stage, 1, Integer::sum);
+    }
+
+    // Only the first call counts, a list is handled once its first element is out.
+    synchronized void markHandled() {
+        if (handledNanos == 0) {
+            handledNanos = System.nanoTime();
+        }
+    }
+
+    synchronized String toHeaderValue() {
+        long now = System.nanoTime();
+        var header = new StringJoiner(", ");
+        durations.forEach((stage, nanos) -> header.add(metric(stage, nanos)));
+        counts.forEach((stage, count) -> header.add(stage + ";desc=\"" + count + "\""));
+        if (handledNanos != 0) {
+            header.add(metric("serialize", now - handledNanos));
+        }
+        header.add(metric("total", now - startNanos));
+        return header.toString();
+    }
+
+    private static String metric(String stage, long nanos) {
+        return stage + ";dur=" + String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,45 @@
+package com.asr.orderservice.timing;
+
+import com.asr.orderservice.config.ServerTimingProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Samples order requests and answers them with a Server-Timing header built from the collected stages.
+@Component
+public class ServerTimingFilter implements WebFilter {
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String ORDERS_PATH = "/orders";
+
+    private final double samplingRate;
+
+    public ServerTimingFilter(ServerTimingProperties serverTimingProperties) {
+        this.samplingRate = serverTimingProperties.samplingRate();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (samplingRate <= 0 || !isOrdersPath(exchange) || !isSampled()) {
+            return chain.filter(exchange);
+        }
+        // Only sampled requests carry a ServerTiming, which is what ServerTimingStages looks for.
+        var timing = new ServerTiming();
+        exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() ->
+                exchange.getResponse().getHeaders().add(SERVER_TIMING_HEADER, timing.toHeaderValue())));
+        return chain.filter(exchange)
+                .contextWrite(context -> context.put(ServerTiming.class, timing));
+    }
+
+    private static boolean isOrdersPath(ServerWebExchange exchange) {
+        var path = exchange.getRequest().getPath().pathWithinApplication().value();
+        return path.equals(ORDERS_PATH) || path.startsWith(ORDERS_PATH + "/");
+    }
+
+    private boolean isSampled() {
+        return samplingRate >= 1 || ThreadLocalRandom.current().nextDouble() < samplingRate;
+    }
+}
@@ -0,0 +1,99 @@
+package com.asr.orderservice.timing;
+
+import com.asr.orderservice.config.ServerTimingProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records pipeline stages into the {@link ServerTiming} of a sampled request. With sampling off the
+ * stages are returned untouched, so nothing is allocated. With sampling on, each stage checks the
+ * Reactor context on subscription before anything else and hands unsampled requests their source back.
+ */
+@Component
+public class ServerTimingStages {
+    private final boolean enabled;
+
+    public ServerTimingStages(ServerTimingProperties serverTimingProperties) {
+        this.enabled = serverTimingProperties.samplingRate() > 0;
+    }
+
+    public <T> Mono<T> timed(String stage, Mono<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        return Mono.deferContextual(context -> {
+            if (!context.hasKey(ServerTiming.class)) {
+                return source;
+            }
+            ServerTiming timing = context.get(ServerTiming.class);
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timing.addDuration(stage, System.nanoTime() - start));
+        });
+    }
+
+    // The header leaves with the first element, so a list stage lasts until its first element.
+    public <T> Flux<T> timed(String stage, Flux<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        return Flux.deferContextual(context -> {
+            if (!context.hasKey(ServerTiming.class)) {
+                return source;
+            }
+            ServerTiming timing = context.get(ServerTiming.class);
+            long start = System.nanoTime();
+            var recorded = new AtomicBoolean();
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    timing.addDuration(stage, System.nanoTime() - start);
+                }
+            };
+            return source.doOnNext(element -> record.run())
+                    .doFinally(signal -> record.run());
+        });
+    }
+
+    // Counts subscriptions, placed before retryWhen it counts every attempt.
+    public <T> Mono<T> counted(String stage, Mono<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        return Mono.deferContextual(context -> {
+            if (context.hasKey(ServerTiming.class)) {
+                context.get(ServerTiming.class).increment(stage);
+            }
+            return source;
+        });
+    }
+
+    // Marks the end of the handler, what happens until the response is committed is serialization.
+    public <T> Mono<T> handled(Mono<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        return Mono.deferContextual(context -> {
+            if (!context.hasKey(ServerTiming.class)) {
+                return source;
+            }
+            ServerTiming timing = context.get(ServerTiming.class);
+            return source.doFinally(signal -> timing.markHandled());
+        });
+    }
+
+    public <T> Flux<T> handled(Flux<T> source) {
+        if (!enabled) {
+            return source;
+        }
+        return Flux.deferContextual(context -> {
+            if (!context.hasKey(ServerTiming.class)) {
+                return source;
+            }
+            ServerTiming timing = context.get(ServerTiming.class);
+            return source.doOnNext(element -> timing.markHandled())
+                    .doFinally(signal -> timing.markHandled());
+        });
+    }
+}
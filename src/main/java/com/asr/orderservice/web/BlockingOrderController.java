@@ -0,0 +1,58 @@
+package com.asr.orderservice.web;
+
+import com.asr.orderservice.domain.BlockingOrderService;
+import com.asr.orderservice.domain.Order;
+import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+// Same API as OrderController, every request runs start to end on its own (virtual) thread.
+@RestController
+@RequestMapping("orders")
+@Profile("imperative")
+public class BlockingOrderController {
+    private final BlockingOrderService orderService;
+    private final Scheduler blockingScheduler;
+
+    public BlockingOrderController(BlockingOrderService orderService, Scheduler blockingScheduler) {
+        this.orderService = orderService;
+        this.blockingScheduler = blockingScheduler;
+    }
+
+    @GetMapping
+    public Flux<Order> getOrders() {
+        return onBlockingThread(orderService::findAllOrders)
+                .flatMapIterable(orders -> orders);
+    }
+
+    @GetMapping("{id}")
+    public Mono<Order> getOrder(@PathVariable String id) {
+        return onBlockingThread(() -> orderService.findByOrderId(id));
+    }
+
+    @PostMapping
+    public Mono<Order> submitOrder(@RequestBody @Valid OrderRequest orderRequest) {
+        return onBlockingThread(() -> orderService.submitOrder(orderRequest.productId(), orderRequest.quantity()));
+    }
+
+    @PutMapping("{id}")
+    public Mono<Order> cancelOrder(@PathVariable String id) {
+        return onBlockingThread(() -> orderService.cancelOrder(id));
+    }
+
+    private <T> Mono<T> onBlockingThread(Callable<T> call) {
+        return Mono.fromCallable(call)
+                .subscribeOn(blockingScheduler);
+    }
+}
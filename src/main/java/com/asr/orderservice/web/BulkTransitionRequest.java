@@ -0,0 +1,28 @@
+package com.asr.orderservice.web;
+
+import com.asr.orderservice.domain.OrderFilter;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+import java.util.List;
+
+public record BulkTransitionRequest(
+        String productId,
+        Instant createdFrom,
+        Instant createdTo,
+
+        @Size(max = 10000, message = "You cannot select more than 10000 orders by ID.")
+        List<String> orderIds
+) {
+    // Guards against transitioning every order by accident.
+    @AssertTrue(message = "At least one filter must be defined.")
+    public boolean isFiltered() {
+        return productId != null || createdFrom != null || createdTo != null
+                || (orderIds != null && !orderIds.isEmpty());
+    }
+
+    OrderFilter toFilter() {
+        return new OrderFilter(productId, createdFrom, createdTo, orderIds);
+    }
+}
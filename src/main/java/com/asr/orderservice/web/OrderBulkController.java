@@ -0,0 +1,32 @@
+package com.asr.orderservice.web;
+
+import com.asr.orderservice.domain.BulkTransitionProgress;
+import com.asr.orderservice.domain.OrderBulkService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+// Progress is streamed as one JSON line per transitioned chunk.
+@RestController
+@RequestMapping("orders/bulk")
+public class OrderBulkController {
+    private final OrderBulkService orderBulkService;
+
+    public OrderBulkController(OrderBulkService orderBulkService) {
+        this.orderBulkService = orderBulkService;
+    }
+
+    @PostMapping(value = "dispatch", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkTransitionProgress> dispatchOrders(@RequestBody @Valid BulkTransitionRequest request) {
+        return orderBulkService.dispatchOrders(request.toFilter());
+    }
+
+    @PostMapping(value = "cancel", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BulkTransitionProgress> cancelOrders(@RequestBody @Valid BulkTransitionRequest request) {
+        return orderBulkService.cancelOrders(request.toFilter());
+    }
+}
@@ -1,45 +1,90 @@
 package com.asr.orderservice.web;
 
 import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderFields;
+import com.asr.orderservice.domain.OrderQueries;
 import com.asr.orderservice.domain.OrderService;
+import com.asr.orderservice.domain.OrderView;
+import com.asr.orderservice.timing.ServerTimingStages;
 import jakarta.validation.Valid;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("orders")
+@Profile("!imperative")
 public class OrderController {
     private final OrderService orderService;
+    private final OrderQueries orderQueries;
+    private final ServerTimingStages serverTimingStages;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, OrderQueries orderQueries,
+                           ServerTimingStages serverTimingStages) {
         this.orderService = orderService;
+        this.orderQueries = orderQueries;
+        this.serverTimingStages = serverTimingStages;
     }
 
     @GetMapping
     public Flux<Order> getOrders() {
-        return orderService.findAllOrders();
+        return serverTimingStages.handled(orderService.findAllOrders());
+    }
+
+    @GetMapping(params = "fields")
+    public Flux<OrderView> getOrders(@RequestParam String fields) {
+        return serverTimingStages.handled(orderQueries.findAllOrders(OrderFields.parse(fields)));
     }
 
     @GetMapping("{id}")
-    public Mono<Order> getOrder(@PathVariable String id) {
-        return orderService.findByOrderId(id);
+    public Mono<ResponseEntity<Order>> getOrder(@PathVariable String id, ServerWebExchange exchange) {
+        var fullRead = orderService.findByOrderId(id)
+                .map(order -> ResponseEntity.ok().eTag(OrderETag.of(order)).body(order));
+        if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)) {
+            return serverTimingStages.handled(fullRead);
+        }
+        // Pollers mostly see an unchanged order, the version alone decides whether the body is needed.
+        var conditionalRead = orderQueries.findVersion(id)
+                .flatMap(version -> {
+                    var eTag = OrderETag.of(id, version);
+                    return exchange.checkNotModified(eTag)
+                            ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).<Order>build())
+                            : fullRead;
+                });
+        return serverTimingStages.handled(conditionalRead);
+    }
+
+    @GetMapping(value = "{id}", params = "fields")
+    public Mono<OrderView> getOrder(@PathVariable String id, @RequestParam String fields) {
+        return serverTimingStages.handled(orderQueries.findByOrderId(id, OrderFields.parse(fields)));
     }
 
     @PostMapping
     public Mono<Order> submitOrder(@RequestBody @Valid OrderRequest orderRequest) {
-        return orderService.submitOrder(orderRequest.productId(), orderRequest.quantity());
+        return serverTimingStages.handled(orderService.submitOrder(orderRequest.productId(), orderRequest.quantity()));
     }
 
 //    TODO: Rethink PUT or PATCH
     @PutMapping("{id}")
-    public Mono<Order> cancelOrder(@PathVariable String id) {
-        return orderService.cancelOrder(id);
+    public Mono<ResponseEntity<Order>> cancelOrder(@PathVariable String id,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var cancellation = ifMatch == null || ifMatch.trim().equals("*")
+                ? orderService.cancelOrder(id)
+                : orderService.cancelOrder(id, OrderETag.version(ifMatch, id));
+        return serverTimingStages.handled(cancellation
+                .map(order -> ResponseEntity.ok().eTag(OrderETag.of(order)).body(order)));
     }
 }
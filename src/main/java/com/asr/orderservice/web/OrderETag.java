@@ -0,0 +1,40 @@
+package com.asr.orderservice.web;
+
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.exception.OrderVersionMismatchException;
+
+/**
+ * Strong entity tags of the form {@code "<id>-<version>"}. Every write bumps the {@code @Version}
+ * field, so the tag changes exactly when the stored order does.
+ */
+final class OrderETag {
+
+    private OrderETag() {
+    }
+
+    static String of(Order order) {
+        return of(order.id(), order.version());
+    }
+
+    static String of(String orderId, int version) {
+        return "\"" + orderId + "-" + version + "\"";
+    }
+
+    /**
+     * Reads the version out of an {@code If-Match} tag of this order.
+     *
+     * @throws OrderVersionMismatchException if the tag is not a tag of this order
+     */
+    static int version(String ifMatch, String orderId) {
+        var tag = ifMatch.trim();
+        var prefix = "\"" + orderId + "-";
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+            throw new OrderVersionMismatchException(orderId);
+        }
+        try {
+            return Integer.parseInt(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException exception) {
+            throw new OrderVersionMismatchException(orderId);
+        }
+    }
+}
@@ -1,17 +1,31 @@
 package com.asr.orderservice;
 
+import com.asr.orderservice.config.InventoryProperties;
+import com.asr.orderservice.domain.BulkTransitionProgress;
 import com.asr.orderservice.domain.Order;
 import com.asr.orderservice.domain.OrderRepository;
 import com.asr.orderservice.domain.OrderService;
+import com.asr.orderservice.domain.PipelineWarmUp;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderEventPublisher;
+import com.asr.orderservice.event.OrderEventRepository;
+import com.asr.orderservice.inventory.InventoryLedger;
 import com.asr.orderservice.product.Product;
 import com.asr.orderservice.product.ProductClient;
+import com.asr.orderservice.web.BulkTransitionRequest;
 import com.asr.orderservice.web.OrderRequest;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -25,12 +39,25 @@ import java.util.List;
 
 import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
 import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
+import static com.asr.orderservice.domain.OrderStatus.DISPATCHED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_CANCELLED;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 
 @Testcontainers
 @ActiveProfiles("integration")
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        // The outbox is relayed once at startup only, so the tests find their events in it.
+        properties = {"store.pipeline-warm-up.budget=5s", "store.outbox.poll-interval=PT1H"})
 class OrderServiceApplicationTests {
     private static final String ORDER_ROOT_API = "/orders";
 
@@ -43,9 +70,46 @@ class OrderServiceApplicationTests {
     @Autowired
     private OrderRepository orderRepository;
 
-    @MockBean
+    @Autowired
+    private InventoryLedger inventoryLedger;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private PipelineWarmUp pipelineWarmUp;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Autowired
     private ProductClient productClient;
 
+    // Replaces the real beans without @MockBean or @SpyBean, which Spring AOT does not support.
+    @TestConfiguration
+    static class TestDoublesConfig {
+        @Bean
+        @Primary
+        ProductClient mockProductClient() {
+            return mock(ProductClient.class, MockReset.withSettings(MockReset.AFTER));
+        }
+
+        @Bean
+        @Primary
+        InventoryLedger spiedInventoryLedger(ProductClient productClient, InventoryProperties inventoryProperties,
+                                             MeterRegistry meterRegistry) {
+            return mock(InventoryLedger.class, MockReset.withSettings(MockReset.AFTER)
+                    .spiedInstance(new InventoryLedger(productClient, inventoryProperties, meterRegistry))
+                    .defaultAnswer(CALLS_REAL_METHODS));
+        }
+
+        // Order events are only written with a publisher.
+        @Bean
+        OrderEventPublisher orderEventPublisher() {
+            return events -> Mono.empty();
+        }
+    }
+
     @DynamicPropertySource
     static void mongoProperties(DynamicPropertyRegistry registry) {
         registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
@@ -54,6 +118,10 @@ class OrderServiceApplicationTests {
     @BeforeEach
     void setUp() {
         orderRepository.deleteAll().block();
+        orderEventRepository.deleteAll().block();
+        // Hand back units leased by a previous test, so every test starts with an empty ledger.
+        given(productClient.returnUnits(anyString(), anyLong())).willReturn(Mono.just(true));
+        inventoryLedger.reconcile().block();
     }
 
     @Test
@@ -214,6 +282,102 @@ class OrderServiceApplicationTests {
                         assertThat(message).isEqualTo("Order with ID '" + orderId + "' was not found."));
     }
 
+    @Test
+    @DisplayName("when dispatch orders in bulk by product, then only accepted orders of that product are dispatched")
+    void whenDispatchOrdersInBulk_thenMatchingOrdersDispatched() {
+        // Given
+        var productId = "64b7a0b7d9492771d6b7ab8a";
+        var otherProductId = "64b7a0b7d9492771d6b7ab8b";
+        orderRepository.saveAll(List.of(
+                Order.of(productId, "Name", 1.0, 1, ACCEPTED),
+                Order.of(productId, "Name", 1.0, 2, ACCEPTED),
+                Order.of(productId, "Name", 1.0, 3, CANCELLED),
+                Order.of(otherProductId, "Name", 1.0, 1, ACCEPTED)
+        )).blockLast();
+
+        // When + Then
+        webTestClient
+                .post()
+                .uri(ORDER_ROOT_API + "/bulk/dispatch")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new BulkTransitionRequest(productId, null, null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BulkTransitionProgress.class).value(progress ->
+                        assertThat(progress).last()
+                                .hasFieldOrPropertyWithValue("transitionedTotal", 2L)
+                );
+        assertThat(orderRepository.findAll().collectList().block())
+                .extracting(Order::productId, Order::status, Order::version)
+                .containsExactlyInAnyOrder(
+                        tuple(productId, DISPATCHED, 1),
+                        tuple(productId, DISPATCHED, 1),
+                        tuple(productId, CANCELLED, 0),
+                        tuple(otherProductId, ACCEPTED, 0)
+                );
+    }
+
+    @Test
+    @DisplayName("when cancel orders in bulk by product, then accepted orders are cancelled with their events and units released")
+    void whenCancelOrdersInBulk_thenOrdersCancelledWithEventsAndUnitsReleased() {
+        // Given
+        var productId = "64b7a0b7d9492771d6b7ab8a";
+        var otherProductId = "64b7a0b7d9492771d6b7ab8b";
+        var orders = orderRepository.saveAll(List.of(
+                Order.of(productId, "Name", 1.0, 1, ACCEPTED),
+                Order.of(productId, "Name", 1.0, 2, ACCEPTED),
+                Order.of(productId, "Name", 1.0, 3, DISPATCHED),
+                Order.of(otherProductId, "Name", 1.0, 1, ACCEPTED)
+        )).collectList().block();
+
+        // When + Then
+        webTestClient
+                .post()
+                .uri(ORDER_ROOT_API + "/bulk/cancel")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new BulkTransitionRequest(productId, null, null, null))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BulkTransitionProgress.class).value(progress ->
+                        assertThat(progress).last()
+                                .hasFieldOrPropertyWithValue("transitionedTotal", 2L)
+                );
+        assertThat(orderRepository.findAll().collectList().block())
+                .extracting(Order::productId, Order::status, Order::version)
+                .containsExactlyInAnyOrder(
+                        tuple(productId, CANCELLED, 1),
+                        tuple(productId, CANCELLED, 1),
+                        tuple(productId, DISPATCHED, 0),
+                        tuple(otherProductId, ACCEPTED, 0)
+                );
+        assertThat(orderEventRepository.findAll().collectList().block())
+                .extracting(OrderEvent::orderId, OrderEvent::type, OrderEvent::quantity)
+                .containsExactlyInAnyOrder(
+                        tuple(orders.get(0).id(), ORDER_CANCELLED, 1),
+                        tuple(orders.get(1).id(), ORDER_CANCELLED, 2)
+                );
+        then(inventoryLedger).should().release(productId, 3);
+        then(inventoryLedger).should(never()).release(eq(otherProductId), anyInt());
+    }
+
+    @Test
+    @DisplayName("when warming up the pipeline, then no order, event or catalog call is left behind")
+    void whenPipelineWarmUp_thenNothingLeftBehind() {
+        // Given
+        var events = orderEventRepository.count().block();
+
+        // When
+        var rounds = pipelineWarmUp.warmUp().block();
+
+        // Then
+        assertThat(rounds).isPositive();
+        assertThat(orderRepository.count().block()).isZero();
+        assertThat(orderEventRepository.count().block()).isEqualTo(events);
+        assertThat(reactiveMongoTemplate.getCollectionNames().collectList().block())
+                .noneMatch(name -> name.contains("_warm_up_"));
+        then(productClient).should(never()).getProduct(anyString());
+    }
+
     private void assertOrder(Order actualOrder, Order expectedOrder) {
         assertThat(actualOrder).isNotNull()
                 .hasFieldOrPropertyWithValue("productName", expectedOrder.productName())
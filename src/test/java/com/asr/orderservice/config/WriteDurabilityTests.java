@@ -0,0 +1,74 @@
+package com.asr.orderservice.config;
+
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderArchive;
+import com.mongodb.WriteConcern;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoAction;
+import org.springframework.data.mongodb.core.MongoActionOperation;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Set;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.domain.OrderStatus.REJECTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteDurabilityTests {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final WriteDurability writeDurability = new WriteDurability(
+            new DurabilityProperties("majority", true, "1", false, Set.of(REJECTED)), meterRegistry);
+
+    @Test
+    @DisplayName("resolve for an accepted order, should acknowledge by a journaled majority")
+    void resolve_acceptedOrder_majority() {
+        // When
+        var writeConcern = writeDurability.resolve(save(OrderArchive.ORDERS_COLLECTION, ACCEPTED.name()));
+
+        // Then
+        assertThat(writeConcern).isEqualTo(WriteConcern.MAJORITY.withJournal(true));
+    }
+
+    @Test
+    @DisplayName("resolve for a rejected order, should acknowledge by the primary without journal")
+    void resolve_rejectedOrder_primaryOnly() {
+        // When
+        var writeConcern = writeDurability.resolve(save(OrderArchive.ORDERS_COLLECTION, REJECTED.name()));
+
+        // Then
+        assertThat(writeConcern).isEqualTo(WriteConcern.W1.withJournal(false));
+    }
+
+    @Test
+    @DisplayName("resolve for another collection, should keep the default")
+    void resolve_otherCollection_default() {
+        // When
+        var writeConcern = writeDurability.resolve(save(OrderArchive.ARCHIVE_COLLECTION, REJECTED.name()));
+
+        // Then
+        assertThat(writeConcern).isEqualTo(WriteConcern.ACKNOWLEDGED);
+    }
+
+    @Test
+    @DisplayName("timed write, should be recorded under the tier of the status")
+    void timed_recordsTier() {
+        // When
+        var write = writeDurability.timed(REJECTED, Mono.just("saved"));
+
+        // Then
+        StepVerifier.create(write)
+                .expectNext("saved")
+                .verifyComplete();
+        assertThat(meterRegistry.get("orders.write").tag("tier", "audit").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("orders.write").tag("tier", "durable").timer().count()).isZero();
+    }
+
+    private static MongoAction save(String collection, String status) {
+        return new MongoAction(WriteConcern.ACKNOWLEDGED, MongoActionOperation.SAVE, collection, Order.class,
+                new Document("status", status), null);
+    }
+}
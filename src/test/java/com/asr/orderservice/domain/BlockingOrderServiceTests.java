@@ -0,0 +1,275 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.config.InventoryProperties;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderEventType;
+import com.asr.orderservice.event.OrderOutbox;
+import com.asr.orderservice.exception.OrderArchivedException;
+import com.asr.orderservice.exception.OrderNotFoundException;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.asr.orderservice.product.BlockingProductClient;
+import com.asr.orderservice.product.Product;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
+import static com.asr.orderservice.domain.OrderStatus.DISPATCHED;
+import static com.asr.orderservice.domain.OrderStatus.REJECTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_ACCEPTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_CANCELLED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+
+@ExtendWith(MockitoExtension.class)
+class BlockingOrderServiceTests {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private BlockingProductClient productClient;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    @Spy
+    private InventoryProperties inventoryProperties = new InventoryProperties(false, 50, Duration.ofMinutes(1));
+
+    @InjectMocks
+    private BlockingOrderService orderService;
+
+    @Test
+    @DisplayName("find order by id when only archived, should return the archived order")
+    void findByOrderId_whenArchived_returnArchivedOrder() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        var archivedOrder = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, CANCELLED, null, null, 1);
+        given(mongoTemplate.findById(orderId, Order.class, OrderArchive.ARCHIVE_COLLECTION))
+                .willReturn(archivedOrder);
+
+        // When
+        var order = orderService.findByOrderId(orderId);
+
+        // Then
+        assertThat(order).isEqualTo(archivedOrder);
+    }
+
+    @Test
+    @DisplayName("find order by id when not exists, should throw OrderNotFoundException")
+    void findByOrderId_whenNotExists_throwOrderNotFoundException() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+
+        // When + Then
+        assertThatThrownBy(() -> orderService.findByOrderId(orderId))
+                .isInstanceOf(OrderNotFoundException.class)
+                .hasMessage("Order with ID '" + orderId + "' was not found.");
+    }
+
+    @Test
+    @DisplayName("submit order when product available, should save accepted order with its event")
+    void submitOrder_whenProductAvailable_shouldAcceptOrder() {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        given(productClient.getProduct(productId))
+                .willReturn(new Product(productId, "Name", 1.0, 5L));
+        givenTransactionsPassThrough();
+        given(orderOutbox.enabled())
+                .willReturn(true);
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var order = orderService.submitOrder(productId, 2);
+
+        // Then
+        assertThat(order.status()).isEqualTo(ACCEPTED);
+        assertThat(order.quantity()).isEqualTo(2);
+        then(mongoTemplate).should()
+                .upsert(any(Query.class), argThat((Update update) -> isEvent(update, ORDER_ACCEPTED)), eq(OrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("submit order when no publisher is configured, should save accepted order without event")
+    void submitOrder_whenOutboxDisabled_shouldNotWriteEvent() {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        given(productClient.getProduct(productId))
+                .willReturn(new Product(productId, "Name", 1.0, 5L));
+        givenTransactionsPassThrough();
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var order = orderService.submitOrder(productId, 2);
+
+        // Then
+        assertThat(order.status()).isEqualTo(ACCEPTED);
+        then(mongoTemplate).should(never()).upsert(any(Query.class), any(Update.class), eq(OrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("submit order when stock too low, should save rejected order without event")
+    void submitOrder_whenStockTooLow_shouldRejectOrder() {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        given(productClient.getProduct(productId))
+                .willReturn(new Product(productId, "Name", 1.0, 1L));
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var order = orderService.submitOrder(productId, 2);
+
+        // Then
+        assertThat(order.status()).isEqualTo(REJECTED);
+        then(transactionTemplate).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("submit order when product not found, should save rejected order")
+    void submitOrder_whenProductNotFound_shouldRejectOrder() {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var order = orderService.submitOrder(productId, 1);
+
+        // Then
+        assertThat(order.status()).isEqualTo(REJECTED);
+        assertThat(order.productId()).isEqualTo(productId);
+    }
+
+    @Test
+    @DisplayName("cancel order when accepted, should save cancelled order with its event")
+    void cancelOrder_whenAccepted_shouldCancelWithEvent() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        var acceptedOrder = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, ACCEPTED, null, null, 0);
+        given(mongoTemplate.findById(orderId, Order.class))
+                .willReturn(acceptedOrder);
+        givenTransactionsPassThrough();
+        given(orderOutbox.enabled())
+                .willReturn(true);
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var order = orderService.cancelOrder(orderId);
+
+        // Then
+        assertThat(order.status()).isEqualTo(CANCELLED);
+        then(mongoTemplate).should()
+                .upsert(any(Query.class), argThat((Update update) -> isEvent(update, ORDER_CANCELLED)), eq(OrderEvent.class));
+    }
+
+    @Test
+    @DisplayName("cancel order when accepted with leasing, should release the units through the ledger")
+    void cancelOrder_whenAcceptedWithLeasing_shouldReleaseUnits() {
+        // Given
+        var leasingOrderService = new BlockingOrderService(mongoTemplate, transactionTemplate, productClient,
+                orderOutbox, inventoryLedger, new InventoryProperties(true, 50, Duration.ofMinutes(1)));
+        var orderId = "64b514da498c2e6567f000a2";
+        var acceptedOrder = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 2, ACCEPTED, null, null, 0);
+        given(mongoTemplate.findById(orderId, Order.class))
+                .willReturn(acceptedOrder);
+        givenTransactionsPassThrough();
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(inventoryLedger.release(acceptedOrder.productId(), 2))
+                .willReturn(Mono.empty());
+
+        // When
+        var order = leasingOrderService.cancelOrder(orderId);
+
+        // Then
+        assertThat(order.status()).isEqualTo(CANCELLED);
+        then(inventoryLedger).should().release(acceptedOrder.productId(), 2);
+    }
+
+    @Test
+    @DisplayName("cancel order when already cancelled, should not write another event")
+    void cancelOrder_whenAlreadyCancelled_shouldNotWriteEvent() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        var cancelledOrder = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, CANCELLED, null, null, 1);
+        given(mongoTemplate.findById(orderId, Order.class))
+                .willReturn(cancelledOrder);
+        given(mongoTemplate.save(any(Order.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var order = orderService.cancelOrder(orderId);
+
+        // Then
+        assertThat(order.status()).isEqualTo(CANCELLED);
+        then(transactionTemplate).shouldHaveNoInteractions();
+        then(orderOutbox).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("cancel order when not exists, should throw OrderNotFoundException")
+    void cancelOrder_whenNotExists_throwOrderNotFoundException() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+
+        // When + Then
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId))
+                .isInstanceOf(OrderNotFoundException.class);
+        then(transactionTemplate).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("cancel order when archived as dispatched, should throw OrderArchivedException")
+    void cancelOrder_whenArchivedAsDispatched_throwOrderArchivedException() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        var archivedOrder = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, DISPATCHED, null, null, 1);
+        given(mongoTemplate.findById(orderId, Order.class, OrderArchive.ARCHIVE_COLLECTION))
+                .willReturn(archivedOrder);
+
+        // When + Then
+        assertThatThrownBy(() -> orderService.cancelOrder(orderId))
+                .isInstanceOf(OrderArchivedException.class);
+        then(transactionTemplate).shouldHaveNoInteractions();
+    }
+
+    private static boolean isEvent(Update update, OrderEventType type) {
+        return update.getUpdateObject().get("$set", Document.class).get("type") == type;
+    }
+
+    private void givenTransactionsPassThrough() {
+        willAnswer(invocation -> invocation.<TransactionCallback<Order>>getArgument(0).doInTransaction(null))
+                .given(transactionTemplate).execute(any());
+    }
+}
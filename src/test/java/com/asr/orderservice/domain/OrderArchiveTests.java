@@ -0,0 +1,113 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.config.ArchiveProperties;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
+
+@DataMongoTest(properties = "store.archive.min-age=1d")
+@Testcontainers
+@Import(OrderArchive.class)
+@EnableConfigurationProperties(ArchiveProperties.class)
+class OrderArchiveTests {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private OrderArchive orderArchive;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll().block();
+        reactiveMongoTemplate.remove(new Document(), OrderArchive.ARCHIVE_COLLECTION).block();
+    }
+
+    @Test
+    @DisplayName("archive terminal orders, should move only old terminal orders to the archive")
+    void archiveTerminalOrders_movesOldTerminalOrders() {
+        // Given
+        var old = Instant.now().minus(Duration.ofDays(2));
+        var oldCancelledOrder = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, CANCELLED, old, old, 0)).block();
+        var oldAcceptedOrder = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, ACCEPTED, old, old, 0)).block();
+        var recentCancelledOrder = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, CANCELLED, Instant.now(), Instant.now(), 0)).block();
+
+        // When
+        var archived = orderArchive.archiveTerminalOrders();
+
+        // Then
+        StepVerifier.create(archived)
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(orderRepository.findById(oldCancelledOrder.id()))
+                .verifyComplete();
+        StepVerifier.create(orderRepository.findById(oldAcceptedOrder.id()).map(Order::id))
+                .expectNext(oldAcceptedOrder.id())
+                .verifyComplete();
+        StepVerifier.create(orderRepository.findById(recentCancelledOrder.id()).map(Order::id))
+                .expectNext(recentCancelledOrder.id())
+                .verifyComplete();
+        StepVerifier.create(orderArchive.findById(oldCancelledOrder.id()).map(Order::status))
+                .expectNext(CANCELLED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("move to archive when the order changed after the copy, should keep the live order")
+    void moveToArchive_whenChangedAfterCopy_keepsLiveOrder() {
+        // Given
+        var old = Instant.now().minus(Duration.ofDays(2));
+        var order = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, CANCELLED, old, old, 0)).block();
+        var copy = reactiveMongoTemplate.findById(order.id(), Document.class, OrderArchive.ORDERS_COLLECTION).block();
+        reactiveMongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(order.id())),
+                new Update().inc("version", 1), Order.class).block();
+
+        // When
+        var archived = orderArchive.moveToArchive(List.of(copy));
+
+        // Then
+        StepVerifier.create(archived)
+                .expectNext(0L)
+                .verifyComplete();
+        StepVerifier.create(orderRepository.findById(order.id()).map(Order::version))
+                .expectNext(order.version() + 1)
+                .verifyComplete();
+    }
+}
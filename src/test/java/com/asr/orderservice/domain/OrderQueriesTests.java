@@ -0,0 +1,114 @@
+package com.asr.orderservice.domain;
+
+import com.asr.orderservice.exception.OrderNotFoundException;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+@Import(OrderQueries.class)
+class OrderQueriesTests {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private OrderQueries orderQueries;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        reactiveMongoTemplate.remove(new Document(), OrderArchive.ORDERS_COLLECTION).block();
+        reactiveMongoTemplate.remove(new Document(), OrderArchive.ARCHIVE_COLLECTION).block();
+    }
+
+    @Test
+    @DisplayName("find all orders with fields, should read only those fields")
+    void findAllOrders_withFields_returnsOnlyThoseFields() {
+        // Given
+        var order = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, ACCEPTED, Instant.now(), Instant.now(), 0)).block();
+
+        // When
+        var views = orderQueries.findAllOrders(OrderFields.parse("id,status,createdDate"));
+
+        // Then
+        StepVerifier.create(views)
+                .assertNext(view -> assertThat(view)
+                        .hasFieldOrPropertyWithValue("id", order.id())
+                        .hasFieldOrPropertyWithValue("status", ACCEPTED)
+                        .hasFieldOrPropertyWithValue("productName", null)
+                        .hasFieldOrPropertyWithValue("version", null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("find by order id with fields, should leave out the id unless requested")
+    void findByOrderId_withoutIdField_leavesOutId() {
+        // Given
+        var order = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, ACCEPTED, Instant.now(), Instant.now(), 0)).block();
+
+        // When
+        var view = orderQueries.findByOrderId(order.id(), OrderFields.parse("productName,quantity"));
+
+        // Then
+        StepVerifier.create(view)
+                .expectNext(new OrderView(null, null, "Name", null, 1, null, null, null, null))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("find by order id when archived, should read the archived order")
+    void findByOrderId_whenArchived_readsArchive() {
+        // Given
+        var order = reactiveMongoTemplate.insert(
+                new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, CANCELLED, Instant.now(), Instant.now(), 0),
+                OrderArchive.ARCHIVE_COLLECTION).block();
+
+        // When
+        var view = orderQueries.findByOrderId(order.id(), OrderFields.parse("status"));
+
+        // Then
+        StepVerifier.create(view.map(OrderView::status))
+                .expectNext(CANCELLED)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("find by order id when not exists, should throw exception")
+    void findByOrderId_whenNotExists_shouldThrowException() {
+        // When
+        var view = orderQueries.findByOrderId("64b13f81160f6f18fe1fdd49", OrderFields.parse("status"));
+
+        // Then
+        StepVerifier.create(view)
+                .expectError(OrderNotFoundException.class)
+                .verify();
+    }
+}
@@ -1,10 +1,14 @@
 package com.asr.orderservice.domain;
 
 import com.asr.orderservice.config.DataConfig;
+import com.asr.orderservice.config.DurabilityProperties;
+import com.asr.orderservice.config.WriteDurability;
 import com.asr.orderservice.product.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
@@ -17,7 +21,8 @@ import reactor.test.StepVerifier;
 
 @DataMongoTest
 @Testcontainers
-@Import(DataConfig.class)
+@Import({DataConfig.class, WriteDurability.class, SimpleMeterRegistry.class})
+@EnableConfigurationProperties(DurabilityProperties.class)
 class OrderRepositoryTests {
 
     @Container
@@ -1,25 +1,50 @@
 package com.asr.orderservice.domain;
 
+import com.asr.orderservice.config.DurabilityProperties;
+import com.asr.orderservice.config.NegativeLookupProperties;
+import com.asr.orderservice.config.ServerTimingProperties;
+import com.asr.orderservice.config.WriteDurability;
+import com.asr.orderservice.event.OrderEvent;
+import com.asr.orderservice.event.OrderOutbox;
+import com.asr.orderservice.exception.OrderArchivedException;
 import com.asr.orderservice.exception.OrderNotFoundException;
+import com.asr.orderservice.exception.OrderVersionMismatchException;
+import com.asr.orderservice.inventory.InventoryLedger;
+import com.asr.orderservice.product.NotFoundProductFilter;
 import com.asr.orderservice.product.Product;
-import com.asr.orderservice.product.ProductClient;
+import com.asr.orderservice.timing.ServerTimingStages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.List;
+import java.util.Set;
 
 import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
 import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
+import static com.asr.orderservice.domain.OrderStatus.DISPATCHED;
 import static com.asr.orderservice.domain.OrderStatus.REJECTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_ACCEPTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_CANCELLED;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
 @ExtendWith(MockitoExtension.class)
 class OrderServiceTests {
@@ -28,7 +53,32 @@ class OrderServiceTests {
     private OrderRepository orderRepository;
 
     @Mock
-    private ProductClient productClient;
+    private OrderArchive orderArchive;
+
+    @Mock
+    private InventoryLedger inventoryLedger;
+
+    @Mock
+    private OrderOutbox orderOutbox;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private NotFoundProductFilter notFoundProductFilter;
+
+    @Mock
+    private NegativeLookupProperties negativeLookupProperties;
+
+    @Mock
+    private ReactiveMongoTemplate mongoTemplate;
+
+    @Spy
+    private WriteDurability writeDurability = new WriteDurability(
+            new DurabilityProperties("majority", true, "1", false, Set.of(REJECTED)), new SimpleMeterRegistry());
+
+    @Spy
+    private ServerTimingStages serverTimingStages = new ServerTimingStages(new ServerTimingProperties(0.0));
 
     @InjectMocks
     private OrderService orderService;
@@ -87,6 +137,8 @@ class OrderServiceTests {
         var orderId = "64b13f81160f6f18fe1fdd49";
         given(orderRepository.findById(orderId))
                 .willReturn(Mono.empty());
+        given(orderArchive.findById(orderId))
+                .willReturn(Mono.empty());
 
         // When
         var actualOrder = orderService.findByOrderId(orderId);
@@ -117,17 +169,38 @@ class OrderServiceTests {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("find by order id when archived, should return the archived order")
+    void findByOrderId_whenArchived_shouldReturnArchivedOrder() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        var archivedOrder = Order.of("64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, CANCELLED);
+        given(orderRepository.findById(orderId))
+                .willReturn(Mono.empty());
+        given(orderArchive.findById(orderId))
+                .willReturn(Mono.just(archivedOrder));
+
+        // When
+        var actualOrder = orderService.findByOrderId(orderId);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectNext(archivedOrder)
+                .verifyComplete();
+    }
+
     @Test
     @DisplayName("submit order should accept the order")
     void submitOrder_whenNotExists_shouldAccept() {
         // Given
         var product = new Product("64b13f81160f6f18fe1fdd49", "Product name", 1.0, 1L);
-        given(productClient.getProduct(product.id()))
+        given(inventoryLedger.reserve(product.id(), 1))
                 .willReturn(Mono.just(product));
 
         var acceptedOrder = OrderService.buildAcceptedOrder(product, 1);
         given(orderRepository.save(acceptedOrder))
                 .willReturn(Mono.just(acceptedOrder));
+        givenTransactionsPassThrough();
 
         // When
         var actualOrder = orderService.submitOrder(product.id(), 1);
@@ -136,6 +209,32 @@ class OrderServiceTests {
         StepVerifier.create(actualOrder)
                 .expectNext(acceptedOrder)
                 .verifyComplete();
+        then(orderOutbox).should().append(argThat((OrderEvent event) -> event.type() == ORDER_ACCEPTED));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("submit order when saving fails, should release the reservation")
+    void submitOrder_whenSaveFails_shouldReleaseReservation() {
+        // Given
+        var product = new Product("64b13f81160f6f18fe1fdd49", "Product name", 1.0, 1L);
+        given(inventoryLedger.reserve(product.id(), 1))
+                .willReturn(Mono.just(product));
+        given(orderRepository.save(OrderService.buildAcceptedOrder(product, 1)))
+                .willReturn(Mono.error(new IllegalStateException("Write failed")));
+        given(transactionalOperator.transactional(any(Mono.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(inventoryLedger.release(product.id(), 1))
+                .willReturn(Mono.empty());
+
+        // When
+        var actualOrder = orderService.submitOrder(product.id(), 1);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectErrorMessage("Write failed")
+                .verify();
+        then(inventoryLedger).should().release(product.id(), 1);
     }
 
     @Test
@@ -143,8 +242,8 @@ class OrderServiceTests {
     void submitOrder_whenQuantityGreaterThanUnits_shouldReject() {
         // Given
         var product = new Product("64b13f81160f6f18fe1fdd49", "Product name", 1.0, 1L);
-        given(productClient.getProduct(product.id()))
-                .willReturn(Mono.just(product));
+        given(inventoryLedger.reserve(product.id(), 10))
+                .willReturn(Mono.empty());
 
         var rejectedOrder = OrderService.buildRejectedOrder(product.id(), 10);
         given(orderRepository.save(rejectedOrder))
@@ -159,6 +258,29 @@ class OrderServiceTests {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("submit order for a product known to be missing, should skip storing the duplicate rejection")
+    void submitOrder_whenProductKnownMissing_shouldSkipDuplicateRejection() {
+        // Given
+        var productId = "64b13f81160f6f18fe1fdd49";
+        given(negativeLookupProperties.skipDuplicateRejections())
+                .willReturn(true);
+        given(notFoundProductFilter.mightContain(productId))
+                .willReturn(true);
+        given(inventoryLedger.reserve(productId, 1))
+                .willReturn(Mono.empty());
+
+        // When
+        var actualOrder = orderService.submitOrder(productId, 1);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectNext(OrderService.buildRejectedOrder(productId, 1))
+                .verifyComplete();
+        then(orderRepository).shouldHaveNoInteractions();
+        then(notFoundProductFilter).should().recordSkippedRejection();
+    }
+
     @Test
     @DisplayName("cancel order when exists, should cancel order")
     void cancelOrder_whenExists_cancelOrder() {
@@ -174,6 +296,9 @@ class OrderServiceTests {
                 acceptedOrder.productPrice(), acceptedOrder.quantity(), CANCELLED);
         given(orderRepository.save(cancelledOrder))
                 .willReturn(Mono.just(cancelledOrder));
+        given(inventoryLedger.release(product.id(), 1))
+                .willReturn(Mono.empty());
+        givenTransactionsPassThrough();
 
         // When
         var actualOrder = orderService.cancelOrder(orderId);
@@ -182,6 +307,28 @@ class OrderServiceTests {
         StepVerifier.create(actualOrder)
                 .expectNext(cancelledOrder)
                 .verifyComplete();
+        then(orderOutbox).should().append(argThat((OrderEvent event) -> event.type() == ORDER_CANCELLED));
+    }
+
+    @Test
+    @DisplayName("cancel order when already cancelled, should not release units again")
+    void cancelOrder_whenAlreadyCancelled_shouldNotReleaseUnits() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        var cancelledOrder = Order.of("64b13f81160f6f18fe1fdd49", "Product name", 1.0, 1, CANCELLED);
+        given(orderRepository.findById(orderId))
+                .willReturn(Mono.just(cancelledOrder));
+        given(orderRepository.save(cancelledOrder))
+                .willReturn(Mono.just(cancelledOrder));
+
+        // When
+        var actualOrder = orderService.cancelOrder(orderId);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectNext(cancelledOrder)
+                .verifyComplete();
+        then(inventoryLedger).shouldHaveNoInteractions();
     }
 
     @Test
@@ -191,6 +338,8 @@ class OrderServiceTests {
         var orderId = "64b13f81160f6f18fe1fdd49";
         given(orderRepository.findById(orderId))
                 .willReturn(Mono.empty());
+        given(orderArchive.findById(orderId))
+                .willReturn(Mono.empty());
 
         // When
         var actualOrder = orderService.cancelOrder(orderId);
@@ -201,4 +350,127 @@ class OrderServiceTests {
                         err.getMessage().equals("Order with ID '" + orderId + "' was not found."))
                 .verify();
     }
+
+    @Test
+    @DisplayName("cancel order when archived as cancelled, should return the archived order")
+    void cancelOrder_whenArchivedAsCancelled_shouldReturnArchivedOrder() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        var archivedOrder = new Order(orderId, "64b7a0b7d9492771d6b7ab8a", "Product name", 1.0, 1, CANCELLED, null, null, 2);
+        given(orderRepository.findById(orderId))
+                .willReturn(Mono.empty());
+        given(orderArchive.findById(orderId))
+                .willReturn(Mono.just(archivedOrder));
+
+        // When
+        var actualOrder = orderService.cancelOrder(orderId);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectNext(archivedOrder)
+                .verifyComplete();
+        then(orderOutbox).shouldHaveNoInteractions();
+        then(inventoryLedger).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("cancel order when archived as dispatched, should throw exception")
+    void cancelOrder_whenArchivedAsDispatched_shouldThrowException() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        var archivedOrder = new Order(orderId, "64b7a0b7d9492771d6b7ab8a", "Product name", 1.0, 1, DISPATCHED, null, null, 2);
+        given(orderRepository.findById(orderId))
+                .willReturn(Mono.empty());
+        given(orderArchive.findById(orderId))
+                .willReturn(Mono.just(archivedOrder));
+
+        // When
+        var actualOrder = orderService.cancelOrder(orderId);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectError(OrderArchivedException.class)
+                .verify();
+        then(orderOutbox).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("cancel order at the expected version, should cancel and release units")
+    void cancelOrder_atExpectedVersion_shouldCancel() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        var acceptedOrder = new Order(orderId, "64b7a0b7d9492771d6b7ab8a", "Product name", 1.0, 1, ACCEPTED, null, null, 3);
+        given(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Order.class)))
+                .willReturn(Mono.just(acceptedOrder));
+        given(inventoryLedger.release(acceptedOrder.productId(), 1))
+                .willReturn(Mono.empty());
+        givenTransactionsPassThrough();
+
+        // When
+        var actualOrder = orderService.cancelOrder(orderId, 3);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .assertNext(order -> assertThat(order)
+                        .hasFieldOrPropertyWithValue("status", CANCELLED)
+                        .hasFieldOrPropertyWithValue("version", 4))
+                .verifyComplete();
+        then(orderOutbox).should().append(argThat((OrderEvent event) -> event.type() == ORDER_CANCELLED));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("cancel order at an outdated version, should throw exception")
+    void cancelOrder_atOutdatedVersion_shouldThrowException() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        given(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Order.class)))
+                .willReturn(Mono.empty());
+        given(orderRepository.existsById(orderId))
+                .willReturn(Mono.just(true));
+        given(transactionalOperator.transactional(any(Mono.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var actualOrder = orderService.cancelOrder(orderId, 3);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectError(OrderVersionMismatchException.class)
+                .verify();
+        then(inventoryLedger).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("cancel order at an outdated version when archived, should throw exception")
+    void cancelOrder_atOutdatedVersionWhenArchived_shouldThrowException() {
+        // Given
+        var orderId = "64b13f81160f6f18fe1fdd49";
+        var archivedOrder = new Order(orderId, "64b7a0b7d9492771d6b7ab8a", "Product name", 1.0, 1, CANCELLED, null, null, 4);
+        given(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Order.class)))
+                .willReturn(Mono.empty());
+        given(orderRepository.existsById(orderId))
+                .willReturn(Mono.just(false));
+        given(orderArchive.findById(orderId))
+                .willReturn(Mono.just(archivedOrder));
+        given(transactionalOperator.transactional(any(Mono.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var actualOrder = orderService.cancelOrder(orderId, 3);
+
+        // Then
+        StepVerifier.create(actualOrder)
+                .expectError(OrderVersionMismatchException.class)
+                .verify();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionsPassThrough() {
+        given(transactionalOperator.transactional(any(Mono.class)))
+                .willAnswer(invocation -> invocation.getArgument(0));
+        given(orderOutbox.append(any(OrderEvent.class)))
+                .willReturn(Mono.empty());
+    }
 }
@@ -0,0 +1,27 @@
+package com.asr.orderservice.event;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class InMemoryOrderEventPublisher implements OrderEventPublisher {
+    private final List<OrderEvent> publishedEvents = new CopyOnWriteArrayList<>();
+    private volatile boolean failing;
+
+    @Override
+    public Mono<Void> publish(List<OrderEvent> events) {
+        if (failing) {
+            return Mono.error(new IllegalStateException("Publisher unavailable"));
+        }
+        return Mono.fromRunnable(() -> publishedEvents.addAll(events));
+    }
+
+    List<OrderEvent> publishedEvents() {
+        return publishedEvents;
+    }
+
+    void failing(boolean failing) {
+        this.failing = failing;
+    }
+}
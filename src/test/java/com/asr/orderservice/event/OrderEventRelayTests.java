@@ -0,0 +1,143 @@
+package com.asr.orderservice.event;
+
+import com.asr.orderservice.config.OutboxProperties;
+import com.asr.orderservice.domain.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_ACCEPTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_CANCELLED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+class OrderEventRelayTests {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private InMemoryOrderEventPublisher orderEventPublisher;
+    private OrderEventRelay orderEventRelay;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAll().block();
+        reactiveMongoTemplate.remove(new Query(), OrderEventRelay.LEASE_COLLECTION).block();
+        orderEventPublisher = new InMemoryOrderEventPublisher();
+        orderEventRelay = newRelay(orderEventPublisher);
+    }
+
+    @Test
+    @DisplayName("relay, should publish pending events in order and remove them from the outbox")
+    void relay_publishesInOrder() {
+        // Given
+        var order = new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 1.0, 1, ACCEPTED,
+                null, null, 0);
+        orderEventRepository.save(OrderEvent.of(order, ORDER_ACCEPTED)).block();
+        orderEventRepository.save(OrderEvent.of(order, ORDER_CANCELLED)).block();
+
+        // When + Then
+        StepVerifier.create(orderEventRelay.relay())
+                .expectNext(2L)
+                .verifyComplete();
+        assertThat(orderEventPublisher.publishedEvents())
+                .extracting(OrderEvent::type)
+                .containsExactly(ORDER_ACCEPTED, ORDER_CANCELLED);
+        StepVerifier.create(orderEventRepository.count())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("relay, when publishing fails, should keep the events in the outbox")
+    void relay_whenPublishingFails_keepsEvents() {
+        // Given
+        var order = new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 1.0, 1, ACCEPTED,
+                null, null, 0);
+        orderEventRepository.save(OrderEvent.of(order, ORDER_ACCEPTED)).block();
+        orderEventPublisher.failing(true);
+
+        // When + Then
+        StepVerifier.create(orderEventRelay.relay())
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(orderEventRepository.count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("relay, when publishing fails, should still update the lag")
+    void relay_whenPublishingFails_updatesLag() {
+        // Given
+        var order = new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 1.0, 1, ACCEPTED,
+                null, null, 0);
+        var event = OrderEvent.of(order, ORDER_ACCEPTED);
+        orderEventRepository.save(new OrderEvent(null, event.type(), event.orderId(), event.productId(),
+                event.productPrice(), event.quantity(), Instant.now().minusSeconds(60))).block();
+        orderEventPublisher.failing(true);
+
+        // When
+        orderEventRelay.relay().onErrorResume(exception -> Mono.empty()).block();
+
+        // Then
+        assertThat(meterRegistry.get("orders.outbox.lag").gauge().value()).isGreaterThanOrEqualTo(60_000);
+    }
+
+    @Test
+    @DisplayName("relay, when another instance holds the lease, should leave the events to it")
+    void relay_whenLeaseHeldElsewhere_publishesNothing() {
+        // Given
+        var otherPublisher = new InMemoryOrderEventPublisher();
+        newRelay(otherPublisher).relay().block();
+        var order = new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 1.0, 1, ACCEPTED,
+                null, null, 0);
+        orderEventRepository.save(OrderEvent.of(order, ORDER_ACCEPTED)).block();
+
+        // When + Then
+        StepVerifier.create(orderEventRelay.relay())
+                .expectNext(0L)
+                .verifyComplete();
+        assertThat(orderEventPublisher.publishedEvents()).isEmpty();
+        StepVerifier.create(orderEventRepository.count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    private OrderEventRelay newRelay(OrderEventPublisher publisher) {
+        return new OrderEventRelay(reactiveMongoTemplate, Optional.of(publisher),
+                new OutboxProperties(1, Duration.ofSeconds(1), Duration.ofSeconds(30), Path.of("order-events.jsonl")),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.asr.orderservice.event;
+
+import com.asr.orderservice.domain.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_ACCEPTED;
+import static com.asr.orderservice.event.OrderEventType.ORDER_CANCELLED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+class OrderOutboxTests {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final Order order = new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 1.0, 1,
+            ACCEPTED, null, null, 0);
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        orderEventRepository.deleteAll().block();
+    }
+
+    @Test
+    @DisplayName("append, with a publisher, should write the events dated by the server")
+    void append_withPublisher_writesEvents() {
+        // Given
+        var orderOutbox = new OrderOutbox(reactiveMongoTemplate, Optional.of(new InMemoryOrderEventPublisher()));
+        var before = Instant.now().minus(Duration.ofMinutes(1));
+
+        // When
+        orderOutbox.append(OrderEvent.of(order, ORDER_ACCEPTED))
+                .then(orderOutbox.appendAll(List.of(OrderEvent.of(order, ORDER_CANCELLED))))
+                .block();
+
+        // Then
+        assertThat(orderEventRepository.findAll().collectList().block())
+                .allSatisfy(event -> {
+                    assertThat(event.id()).isNotNull();
+                    assertThat(event.orderId()).isEqualTo(order.id());
+                    assertThat(event.createdDate()).isAfter(before);
+                })
+                .extracting(OrderEvent::type)
+                .containsExactlyInAnyOrder(ORDER_ACCEPTED, ORDER_CANCELLED);
+    }
+
+    @Test
+    @DisplayName("append, without a publisher, should not write anything")
+    void append_withoutPublisher_writesNothing() {
+        // Given
+        var orderOutbox = new OrderOutbox(reactiveMongoTemplate, Optional.empty());
+
+        // When
+        orderOutbox.append(OrderEvent.of(order, ORDER_ACCEPTED))
+                .then(orderOutbox.appendAll(List.of(OrderEvent.of(order, ORDER_CANCELLED))))
+                .block();
+
+        // Then
+        StepVerifier.create(orderEventRepository.count())
+                .expectNext(0L)
+                .verifyComplete();
+    }
+}
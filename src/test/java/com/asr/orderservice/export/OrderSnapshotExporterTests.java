@@ -0,0 +1,144 @@
+package com.asr.orderservice.export;
+
+import com.asr.orderservice.config.ExportProperties;
+import com.asr.orderservice.domain.Order;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataMongoTest
+@Testcontainers
+class OrderSnapshotExporterTests {
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @TempDir
+    private Path directory;
+
+    private OrderSnapshotExporter exporter;
+
+    // Three hourly ranges before the current one.
+    private Instant firstRange;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        reactiveMongoTemplate.remove(new Document(), Order.class).block();
+        // Without settle time every range that ended before now is complete.
+        var exportProperties = new ExportProperties(true, directory, Duration.ofHours(1), Duration.ZERO,
+                Duration.ofHours(1));
+        exporter = new OrderSnapshotExporter(reactiveMongoTemplate, exportProperties);
+        firstRange = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(Duration.ofHours(3));
+    }
+
+    @Test
+    @DisplayName("first export without watermark, should start at the range of the oldest order")
+    void exportPendingRanges_withoutWatermark_startsAtOldestOrder() throws IOException {
+        // Given
+        insertOrder(firstRange.plus(Duration.ofMinutes(10)));
+
+        // When + Then
+        StepVerifier.create(exporter.exportPendingRanges())
+                .expectNext(3L)
+                .verifyComplete();
+        assertThat(watermark()).isEqualTo(firstRange.plus(Duration.ofHours(3)));
+        assertThat(snapshotFiles()).containsExactly(snapshotFileName(firstRange));
+    }
+
+    @Test
+    @DisplayName("export over several hours, should write one snapshot per hourly range with orders")
+    void exportPendingRanges_writesOneSnapshotPerRange() throws IOException {
+        // Given
+        insertOrder(firstRange.plus(Duration.ofMinutes(10)));
+        insertOrder(firstRange.plus(Duration.ofMinutes(50)));
+        insertOrder(firstRange.plus(Duration.ofMinutes(130)));
+
+        // When
+        exporter.exportPendingRanges().block();
+
+        // Then
+        var secondHour = firstRange.plus(Duration.ofHours(2));
+        assertThat(snapshotFiles()).containsExactlyInAnyOrder(snapshotFileName(firstRange), snapshotFileName(secondHour));
+        var firstSnapshot = OrderSnapshotFile.read(directory.resolve(snapshotFileName(firstRange)));
+        assertThat(firstSnapshot.size()).isEqualTo(2);
+        assertThat(firstSnapshot.status(0)).isEqualTo(ACCEPTED);
+        assertThat(OrderSnapshotFile.read(directory.resolve(snapshotFileName(secondHour))).size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("export after a previous run, should continue at the watermark")
+    void exportPendingRanges_withWatermark_continuesAtWatermark() throws IOException {
+        // Given
+        insertOrder(firstRange.plus(Duration.ofMinutes(10)));
+        exporter.exportPendingRanges().block();
+        var lateOrderInExportedRange = firstRange.plus(Duration.ofMinutes(20));
+        insertOrder(lateOrderInExportedRange);
+
+        // When + Then
+        StepVerifier.create(exporter.exportPendingRanges())
+                .expectNext(0L)
+                .verifyComplete();
+        assertThat(OrderSnapshotFile.read(directory.resolve(snapshotFileName(firstRange))).size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("export without orders and watermark, should export nothing")
+    void exportPendingRanges_withoutOrders_exportsNothing() {
+        // When + Then
+        StepVerifier.create(exporter.exportPendingRanges())
+                .expectNext(0L)
+                .verifyComplete();
+        assertThat(directory.resolve("watermark")).doesNotExist();
+    }
+
+    private void insertOrder(Instant createdDate) {
+        reactiveMongoTemplate.insert(new Order(null, "64b7a0b7d9492771d6b7ab8a", "Name", 1.0, 1, ACCEPTED,
+                createdDate, createdDate, 0)).block();
+    }
+
+    private Instant watermark() throws IOException {
+        return Instant.parse(Files.readString(directory.resolve("watermark")).trim());
+    }
+
+    private String[] snapshotFiles() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(".ordc"))
+                    .toArray(String[]::new);
+        }
+    }
+
+    private static String snapshotFileName(Instant rangeStart) {
+        return "orders-" + rangeStart.toEpochMilli() + "-" + rangeStart.plus(Duration.ofHours(1)).toEpochMilli()
+                + ".ordc";
+    }
+}
@@ -0,0 +1,77 @@
+package com.asr.orderservice.export;
+
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.domain.OrderStatus.REJECTED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderSnapshotFileTests {
+    @TempDir
+    private Path directory;
+
+    @Test
+    void whenSnapshotWritten_thenReadBackColumnByColumn() throws IOException {
+        // Given
+        var createdDate = Instant.parse("2023-07-20T10:15:30Z");
+        var builder = new OrderSnapshotBuilder();
+        builder.add(new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 2.5, 3, ACCEPTED,
+                createdDate, createdDate, 0));
+        builder.add(new Order("64b7a0b7d9492771d6b7ab8c", "64b7a0b7d9492771d6b7ab8d", null, null, 1, REJECTED,
+                createdDate.plusSeconds(1), createdDate.plusSeconds(1), 0));
+        builder.add(new Order("64b7a0b7d9492771d6b7ab8e", "64b7a0b7d9492771d6b7ab8b", "Name", 2.5, 4, ACCEPTED,
+                createdDate.plusSeconds(2), createdDate.plusSeconds(2), 0));
+        var file = directory.resolve("orders.ordc");
+
+        // When
+        OrderSnapshotFile.write(file, builder.build());
+        var snapshot = OrderSnapshotFile.read(file);
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.createdDates()).containsExactly(
+                createdDate.toEpochMilli(), createdDate.toEpochMilli() + 1000, createdDate.toEpochMilli() + 2000);
+        assertThat(snapshot.prices()).containsExactly(2.5, Double.NaN, 2.5);
+        assertThat(snapshot.quantities()).containsExactly(3, 1, 4);
+        assertThat(snapshot.statusCodes()).containsExactly(
+                OrderStatusCodes.encode(ACCEPTED), OrderStatusCodes.encode(REJECTED), OrderStatusCodes.encode(ACCEPTED));
+        assertThat(snapshot.status(1)).isEqualTo(REJECTED);
+        assertThat(snapshot.productIds()).containsExactly("64b7a0b7d9492771d6b7ab8b", "64b7a0b7d9492771d6b7ab8d");
+        assertThat(snapshot.productCodes()).containsExactly(0, 1, 0);
+    }
+
+    @Test
+    void whenOrderHasNoStatus_thenReadBackWithoutStatus() throws IOException {
+        // Given
+        var builder = new OrderSnapshotBuilder();
+        builder.add(new Order("64b7a0b7d9492771d6b7ab8a", "64b7a0b7d9492771d6b7ab8b", "Name", 2.5, 3, null,
+                null, null, 0));
+        var file = directory.resolve("orders.ordc");
+
+        // When
+        OrderSnapshotFile.write(file, builder.build());
+        var snapshot = OrderSnapshotFile.read(file);
+
+        // Then
+        assertThat(snapshot.statusCodes()).containsExactly(OrderStatusCodes.NONE);
+        assertThat(snapshot.status(0)).isNull();
+    }
+
+    @Test
+    void everyStatus_hasItsOwnCodeAndDecodesBack() {
+        for (var status : OrderStatus.values()) {
+            assertThat(OrderStatusCodes.decode(OrderStatusCodes.encode(status))).isEqualTo(status);
+        }
+        assertThat(Arrays.stream(OrderStatus.values()).map(OrderStatusCodes::encode).distinct())
+                .hasSize(OrderStatus.values().length)
+                .doesNotContain(OrderStatusCodes.NONE);
+    }
+}
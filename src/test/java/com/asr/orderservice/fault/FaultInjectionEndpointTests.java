@@ -0,0 +1,49 @@
+package com.asr.orderservice.fault;
+
+import com.asr.orderservice.config.FaultInjectionProperties;
+import com.asr.orderservice.config.FaultInjectionProperties.Faults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FaultInjectionEndpointTests {
+    private static final Faults NO_FAULTS = new Faults(false, Duration.ZERO, Duration.ZERO, 0, 0, Duration.ofSeconds(10));
+
+    private final FaultInjector faultInjector = new FaultInjector(new FaultInjectionProperties(NO_FAULTS, NO_FAULTS));
+    private final FaultInjectionEndpoint faultInjectionEndpoint = new FaultInjectionEndpoint(faultInjector);
+
+    @Test
+    @DisplayName("configure, should keep omitted values")
+    void configure_keepsOmittedValues() {
+        // When
+        var faults = faultInjectionEndpoint.configure("catalog", true, null, null, 0.1, null, null);
+
+        // Then
+        assertThat(faults).isEqualTo(new Faults(true, Duration.ZERO, Duration.ZERO, 0.1, 0, Duration.ofSeconds(10)));
+        assertThat(faultInjector.faults(FaultTarget.CATALOG)).isEqualTo(faults);
+    }
+
+    @Test
+    @DisplayName("configure with a rate above 1, should reject the request and keep the faults")
+    void configure_withInvalidRate_rejectsRequest() {
+        // When + Then
+        assertThatThrownBy(() -> faultInjectionEndpoint.configure("catalog", true, null, null, 1.5, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessage("Error and stall rates must be between 0 and 1.");
+        assertThat(faultInjector.faults(FaultTarget.CATALOG)).isEqualTo(NO_FAULTS);
+    }
+
+    @Test
+    @DisplayName("configure an unknown target, should reject the request")
+    void configure_unknownTarget_rejectsRequest() {
+        // When + Then
+        assertThatThrownBy(() -> faultInjectionEndpoint.configure("payments", true, null, null, null, null, null))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessage("Unknown fault target 'payments'.");
+    }
+}
@@ -0,0 +1,99 @@
+package com.asr.orderservice.fault;
+
+import com.asr.orderservice.config.FaultInjectionProperties;
+import com.asr.orderservice.config.FaultInjectionProperties.Faults;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FaultInjectorTests {
+    private static final Faults NO_FAULTS = new Faults(false, Duration.ZERO, Duration.ZERO, 0, 0, Duration.ofSeconds(10));
+
+    private final FaultInjector faultInjector = new FaultInjector(new FaultInjectionProperties(NO_FAULTS, NO_FAULTS));
+
+    @Test
+    @DisplayName("inject when disabled, should pass the call through")
+    void inject_whenDisabled_passesThrough() {
+        // When
+        var result = faultInjector.inject(FaultTarget.MONGO, Mono.just("order"));
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext("order")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("inject with latency, should delay the call")
+    void inject_withLatency_delaysCall() {
+        // Given
+        faultInjector.setFaults(FaultTarget.MONGO,
+                new Faults(true, Duration.ofMillis(200), Duration.ZERO, 0, 0, Duration.ofSeconds(10)));
+
+        // When + Then
+        StepVerifier.withVirtualTime(() -> faultInjector.inject(FaultTarget.MONGO, Flux.just("a", "b")))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(200))
+                .expectNext("a", "b")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("inject with an error rate of one, should fail every call")
+    void inject_withErrorRateOne_fails() {
+        // Given
+        faultInjector.setFaults(FaultTarget.MONGO,
+                new Faults(true, Duration.ZERO, Duration.ZERO, 1, 0, Duration.ofSeconds(10)));
+
+        // When
+        var result = faultInjector.inject(FaultTarget.MONGO, Mono.just("order"));
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(InjectedFaultException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("catalog filter with an error rate of one, should answer 503")
+    void catalogFilter_withErrorRateOne_answersServiceUnavailable() {
+        // Given
+        faultInjector.setFaults(FaultTarget.CATALOG,
+                new Faults(true, Duration.ZERO, Duration.ZERO, 1, 0, Duration.ofSeconds(10)));
+        var request = ClientRequest.create(HttpMethod.GET, URI.create("http://catalog/products/1")).build();
+
+        // When
+        var response = faultInjector.catalogFilter()
+                .filter(request, ignored -> Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        // Then
+        StepVerifier.create(response.map(ClientResponse::statusCode))
+                .expectNext(HttpStatus.SERVICE_UNAVAILABLE)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("reset, should restore the configured faults")
+    void reset_restoresConfiguredFaults() {
+        // Given
+        faultInjector.setFaults(FaultTarget.CATALOG,
+                new Faults(true, Duration.ofSeconds(1), Duration.ZERO, 0, 0, Duration.ofSeconds(10)));
+
+        // When
+        faultInjector.reset(FaultTarget.CATALOG);
+
+        // Then
+        assertThat(faultInjector.faults(FaultTarget.CATALOG)).isEqualTo(NO_FAULTS);
+    }
+}
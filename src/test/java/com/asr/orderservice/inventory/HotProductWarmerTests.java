@@ -0,0 +1,122 @@
+package com.asr.orderservice.inventory;
+
+import com.asr.orderservice.config.WarmUpProperties;
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderStatus;
+import com.asr.orderservice.product.Product;
+import com.asr.orderservice.product.ProductClient;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
+import static com.asr.orderservice.domain.OrderStatus.REJECTED;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+@DataMongoTest
+@Testcontainers
+class HotProductWarmerTests {
+    private static final String HOT_PRODUCT_ID = "64b7a0b7d9492771d6b7ab8a";
+    private static final String WARM_PRODUCT_ID = "64b7a0b7d9492771d6b7ab8b";
+    private static final String COLD_PRODUCT_ID = "64b7a0b7d9492771d6b7ab8c";
+
+    @Container
+    private static final MongoDBContainer mongoDBContainer = new MongoDBContainer("mongo:6.0");
+
+    @Autowired
+    private ReactiveMongoTemplate reactiveMongoTemplate;
+
+    private final ProductClient productClient = mock(ProductClient.class);
+
+    private HotProductWarmer hotProductWarmer;
+
+    @DynamicPropertySource
+    static void mongoProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.data.mongodb.uri", mongoDBContainer::getReplicaSetUrl);
+    }
+
+    @BeforeEach
+    void setUp() {
+        reactiveMongoTemplate.remove(new Document(), Order.class).block();
+        var warmUpProperties = new WarmUpProperties(true, Duration.ofHours(1), 2, 4, Duration.ofSeconds(5),
+                Duration.ofMinutes(5));
+        hotProductWarmer = new HotProductWarmer(reactiveMongoTemplate, productClient, warmUpProperties);
+    }
+
+    @Test
+    @DisplayName("find hot product ids, should rank recent non-rejected orders and keep the top products")
+    void findHotProductIds_returnsTopRecentProducts() {
+        // Given
+        var now = Instant.now();
+        insertOrders(HOT_PRODUCT_ID, ACCEPTED, now, 3);
+        insertOrders(WARM_PRODUCT_ID, CANCELLED, now, 2);
+        insertOrders(COLD_PRODUCT_ID, ACCEPTED, now, 1);
+        // Neither rejected nor older orders make a product hot.
+        insertOrders(COLD_PRODUCT_ID, REJECTED, now, 5);
+        insertOrders(COLD_PRODUCT_ID, ACCEPTED, now.minus(Duration.ofHours(2)), 5);
+
+        // When + Then
+        StepVerifier.create(hotProductWarmer.findHotProductIds())
+                .expectNext(HOT_PRODUCT_ID, WARM_PRODUCT_ID)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("warm up, should refresh the hot products without leasing units")
+    void warmUp_refreshesHotProductsWithoutLeasing() {
+        // Given
+        var now = Instant.now();
+        insertOrders(HOT_PRODUCT_ID, ACCEPTED, now, 2);
+        insertOrders(WARM_PRODUCT_ID, ACCEPTED, now, 1);
+        given(productClient.refreshProduct(HOT_PRODUCT_ID))
+                .willReturn(Mono.just(new Product(HOT_PRODUCT_ID, "Hot", 1.0, 10L)));
+        given(productClient.refreshProduct(WARM_PRODUCT_ID))
+                .willReturn(Mono.empty());
+
+        // When + Then
+        StepVerifier.create(hotProductWarmer.warmUp())
+                .expectNext(2L)
+                .verifyComplete();
+        then(productClient).should().refreshProduct(HOT_PRODUCT_ID);
+        then(productClient).should().refreshProduct(WARM_PRODUCT_ID);
+        then(productClient).should(never()).leaseUnits(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("warm up without recent orders, should not call the catalog")
+    void warmUp_withoutRecentOrders_skipsCatalog() {
+        // When + Then
+        StepVerifier.create(hotProductWarmer.warmUp())
+                .expectNext(0L)
+                .verifyComplete();
+        then(productClient).shouldHaveNoInteractions();
+    }
+
+    private void insertOrders(String productId, OrderStatus status, Instant createdDate, int count) {
+        Flux.range(0, count)
+                .map(i -> new Order(null, productId, "Name", 1.0, 1, status, createdDate, createdDate, 0))
+                .flatMap(reactiveMongoTemplate::insert)
+                .blockLast();
+    }
+}
@@ -0,0 +1,141 @@
+package com.asr.orderservice.inventory;
+
+import com.asr.orderservice.config.InventoryProperties;
+import com.asr.orderservice.product.Product;
+import com.asr.orderservice.product.ProductClient;
+import com.asr.orderservice.product.ProductLease;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerTests {
+    private static final String PRODUCT_ID = "64b13f81160f6f18fe1fdd49";
+
+    @Mock
+    private ProductClient productClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private InventoryLedger inventoryLedger;
+
+    @BeforeEach
+    void setUp() {
+        inventoryLedger = new InventoryLedger(productClient,
+                new InventoryProperties(true, 10, Duration.ofMinutes(1)), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("reserve, should lease a block once and serve next reservations locally")
+    void reserve_leasesBlockOnce() {
+        // Given
+        var product = new Product(PRODUCT_ID, "Name", 1.0, 100L);
+        given(productClient.leaseUnits(PRODUCT_ID, 10)).willReturn(Mono.just(new ProductLease(10L, product)));
+
+        // When + Then
+        StepVerifier.create(inventoryLedger.reserve(PRODUCT_ID, 4))
+                .expectNext(product)
+                .verifyComplete();
+        StepVerifier.create(inventoryLedger.reserve(PRODUCT_ID, 6))
+                .expectNext(product)
+                .verifyComplete();
+        then(productClient).should(times(1)).leaseUnits(PRODUCT_ID, 10);
+        then(productClient).should(never()).getProduct(anyString());
+    }
+
+    @Test
+    @DisplayName("reserve, when catalog has not enough units, should return empty")
+    void reserve_whenNotEnoughUnits_returnEmpty() {
+        // Given
+        var product = new Product(PRODUCT_ID, "Name", 1.0, 0L);
+        given(productClient.leaseUnits(PRODUCT_ID, 10)).willReturn(Mono.just(new ProductLease(1L, product)));
+
+        // When + Then
+        StepVerifier.create(inventoryLedger.reserve(PRODUCT_ID, 5))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("reconcile, should return released and unreserved units to the catalog")
+    void reconcile_returnsLeftoverUnits() {
+        // Given
+        var product = new Product(PRODUCT_ID, "Name", 1.0, 100L);
+        given(productClient.leaseUnits(PRODUCT_ID, 10)).willReturn(Mono.just(new ProductLease(10L, product)));
+        given(productClient.returnUnits(PRODUCT_ID, 8)).willReturn(Mono.just(true));
+        inventoryLedger.reserve(PRODUCT_ID, 5).block();
+        inventoryLedger.release(PRODUCT_ID, 3).block();
+
+        // When + Then
+        StepVerifier.create(inventoryLedger.reconcile())
+                .expectNext(8L)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("reserve, when leasing is off, should only check the stock of the product")
+    void reserve_whenLeasingOff_checksStockOnly() {
+        // Given
+        var ledger = new InventoryLedger(productClient,
+                new InventoryProperties(false, 10, Duration.ofMinutes(1)), meterRegistry);
+        var product = new Product(PRODUCT_ID, "Name", 1.0, 5L);
+        given(productClient.getProduct(PRODUCT_ID)).willReturn(Mono.just(product));
+
+        // When + Then
+        StepVerifier.create(ledger.reserve(PRODUCT_ID, 5))
+                .expectNext(product)
+                .verifyComplete();
+        StepVerifier.create(ledger.release(PRODUCT_ID, 5))
+                .verifyComplete();
+        then(productClient).should(never()).leaseUnits(anyString(), anyLong());
+        then(productClient).should(never()).returnUnits(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("release after reconcile, should hand the units back instead of losing them")
+    void release_afterReconcile_returnsUnits() {
+        // Given
+        var product = new Product(PRODUCT_ID, "Name", 1.0, 100L);
+        given(productClient.leaseUnits(PRODUCT_ID, 10)).willReturn(Mono.just(new ProductLease(10L, product)));
+        given(productClient.returnUnits(PRODUCT_ID, 8)).willReturn(Mono.just(true));
+        given(productClient.returnUnits(PRODUCT_ID, 2)).willReturn(Mono.just(true));
+        inventoryLedger.reserve(PRODUCT_ID, 2).block();
+        inventoryLedger.reconcile().block();
+
+        // When
+        var release = inventoryLedger.release(PRODUCT_ID, 2);
+
+        // Then
+        StepVerifier.create(release)
+                .verifyComplete();
+        then(productClient).should().returnUnits(PRODUCT_ID, 2);
+    }
+
+    @Test
+    @DisplayName("release, when the catalog does not take the units back, should count them")
+    void release_whenNotReturned_countsUnits() {
+        // Given
+        given(productClient.returnUnits(PRODUCT_ID, 3)).willReturn(Mono.just(false));
+
+        // When
+        inventoryLedger.release(PRODUCT_ID, 3).block();
+
+        // Then
+        assertThat(meterRegistry.get("orders.inventory.unreturned.units").counter().count()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,69 @@
+package com.asr.orderservice.jfr;
+
+import com.asr.orderservice.config.FlightRecordingProperties;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecordingEndpointTests {
+    @TempDir
+    private Path directory;
+
+    private FlightRecordingEndpoint flightRecordingEndpoint;
+
+    @BeforeEach
+    void setUp() {
+        flightRecordingEndpoint = new FlightRecordingEndpoint(
+                new FlightRecordingProperties(directory, Duration.ofMinutes(1), DataSize.ofMegabytes(10)));
+    }
+
+    @Test
+    @DisplayName("stop, should dump a recording containing the pipeline events")
+    void startAndStop_dumpsPipelineEvents() throws IOException {
+        // Given
+        flightRecordingEndpoint.control("start");
+        PipelineEvents.catalogLookup("64b7a0b7d9492771d6b7ab8a", Mono.just("product")).block();
+
+        // When
+        var result = flightRecordingEndpoint.control("stop");
+
+        // Then
+        assertThat(result).containsEntry("state", RecordingState.CLOSED);
+        var events = RecordingFile.readAllEvents(Path.of((String) result.get("file")));
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.asr.orderservice.CatalogLookup"))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getString("productId")).isEqualTo("64b7a0b7d9492771d6b7ab8a"));
+    }
+
+    @Test
+    @DisplayName("dump without a running recording, should reject the request")
+    void dump_withoutRecording_rejectsRequest() {
+        // When + Then
+        assertThatThrownBy(() -> flightRecordingEndpoint.control("dump"))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessage("No flight recording is running.");
+    }
+
+    @Test
+    @DisplayName("unknown action, should reject the request")
+    void control_unknownAction_rejectsRequest() {
+        // When + Then
+        assertThatThrownBy(() -> flightRecordingEndpoint.control("pause"))
+                .isInstanceOf(InvalidEndpointRequestException.class)
+                .hasMessage("Unknown action 'pause'.");
+    }
+}
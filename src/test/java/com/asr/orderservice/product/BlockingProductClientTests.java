@@ -0,0 +1,109 @@
+package com.asr.orderservice.product;
+
+import com.asr.orderservice.config.NegativeLookupProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlockingProductClientTests {
+    private static final String PRODUCT_BODY = """
+            {
+            "id": "64b514da498c2e6567f000a2",
+            "name": "Name",
+            "price": 1,
+            "units": 1
+            }
+            """;
+    private MockWebServer mockWebServer;
+    private BlockingProductClient productClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.mockWebServer = new MockWebServer();
+        this.mockWebServer.start();
+        var restTemplate = new RestTemplateBuilder()
+                .rootUri(mockWebServer.url("/").uri().toString())
+                .build();
+        var negativeLookupProperties = new NegativeLookupProperties(true, 1024, 4, Duration.ofMinutes(10), false);
+        this.productClient = new BlockingProductClient(restTemplate,
+                new NotFoundProductFilter(negativeLookupProperties, new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        mockWebServer.shutdown();
+    }
+
+    @Test
+    void whenProductExists_thenReturnProduct() {
+        // Given
+        mockWebServer.enqueue(productResponse());
+
+        // When
+        var product = productClient.getProduct("64b514da498c2e6567f000a2");
+
+        // Then
+        assertThat(product).isEqualTo(new Product("64b514da498c2e6567f000a2", "Name", 1.0, 1L));
+    }
+
+    @Test
+    void whenProductNotFound_thenNextLookupSkipsCatalog() {
+        // Given
+        var productId = "64b514da498c2e6567f000a2";
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+        assertThat(productClient.getProduct(productId)).isNull();
+
+        // When
+        var product = productClient.getProduct(productId);
+
+        // Then
+        assertThat(product).isNull();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenCatalogFailsOnce_thenRetryLookup() {
+        // Given
+        mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        mockWebServer.enqueue(productResponse());
+
+        // When
+        var product = productClient.getProduct("64b514da498c2e6567f000a2");
+
+        // Then
+        assertThat(product).isNotNull();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void whenCatalogKeepsFailing_thenReturnNullAfterRetries() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(503));
+        }
+
+        // When
+        var product = productClient.getProduct("64b514da498c2e6567f000a2");
+
+        // Then
+        assertThat(product).isNull();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(4);
+    }
+
+    private static MockResponse productResponse() {
+        return new MockResponse()
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody(PRODUCT_BODY);
+    }
+}
@@ -0,0 +1,73 @@
+package com.asr.orderservice.product;
+
+import com.asr.orderservice.config.NegativeLookupProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NotFoundProductFilterTests {
+    private static final String PRODUCT_ID = "64b514da498c2e6567f000a2";
+
+    @Test
+    @DisplayName("added product, should be remembered until the second rotation")
+    void add_rememberedForOneToTwoRotations() {
+        // Given
+        var filter = newFilter(true);
+        filter.add(PRODUCT_ID);
+
+        // When + Then
+        assertThat(filter.mightContain(PRODUCT_ID)).isTrue();
+        filter.rotate();
+        assertThat(filter.mightContain(PRODUCT_ID)).isTrue();
+        filter.rotate();
+        assertThat(filter.mightContain(PRODUCT_ID)).isFalse();
+    }
+
+    @Test
+    @DisplayName("product added after a rotation, should survive the next rotation")
+    void add_afterRotation_survivesNextRotation() {
+        // Given
+        var filter = newFilter(true);
+        filter.rotate();
+        filter.add(PRODUCT_ID);
+
+        // When
+        filter.rotate();
+
+        // Then
+        assertThat(filter.mightContain(PRODUCT_ID)).isTrue();
+    }
+
+    @Test
+    @DisplayName("product never added, should not be contained")
+    void mightContain_whenNeverAdded_returnFalse() {
+        // Given
+        var filter = newFilter(true);
+        filter.add(PRODUCT_ID);
+
+        // When + Then
+        assertThat(filter.mightContain("64b514da498c2e6567f000a3")).isFalse();
+    }
+
+    @Test
+    @DisplayName("filter when disabled, should remember nothing")
+    void add_whenDisabled_remembersNothing() {
+        // Given
+        var filter = newFilter(false);
+
+        // When
+        filter.add(PRODUCT_ID);
+
+        // Then
+        assertThat(filter.mightContain(PRODUCT_ID)).isFalse();
+    }
+
+    private static NotFoundProductFilter newFilter(boolean enabled) {
+        var properties = new NegativeLookupProperties(enabled, 1024, 4, Duration.ofMinutes(10), false);
+        return new NotFoundProductFilter(properties, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,63 @@
+package com.asr.orderservice.product;
+
+import com.asr.orderservice.config.ProductCacheProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCacheTests {
+    private static final Product PRODUCT = new Product("64b514da498c2e6567f000a2", "Name", 1.0, 1L);
+
+    @Test
+    @DisplayName("put product, should be read back until it expires")
+    void put_readBackUntilExpired() {
+        // Given
+        var cache = new ProductCache(new ProductCacheProperties(true, 10, Duration.ofMinutes(5)));
+        var expiring = new ProductCache(new ProductCacheProperties(true, 10, Duration.ZERO));
+
+        // When
+        cache.put(PRODUCT);
+        expiring.put(PRODUCT);
+
+        // Then
+        assertThat(cache.get(PRODUCT.id())).isEqualTo(PRODUCT);
+        assertThat(expiring.get(PRODUCT.id())).isNull();
+        assertThat(expiring.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("put product into a full cache, should evict the entry closest to expiry")
+    void put_whenFull_evictsEldestEntry() {
+        // Given
+        var cache = new ProductCache(new ProductCacheProperties(true, 2, Duration.ofMinutes(5)));
+        var second = new Product("64b514da498c2e6567f000a3", "Name", 1.0, 1L);
+        var third = new Product("64b514da498c2e6567f000a4", "Name", 1.0, 1L);
+        cache.put(PRODUCT);
+        cache.put(second);
+
+        // When
+        cache.put(third);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(PRODUCT.id())).isNull();
+        assertThat(cache.get(second.id())).isEqualTo(second);
+        assertThat(cache.get(third.id())).isEqualTo(third);
+    }
+
+    @Test
+    @DisplayName("put product when disabled, should not cache anything")
+    void put_whenDisabled_cachesNothing() {
+        // Given
+        var cache = new ProductCache(new ProductCacheProperties(false, 10, Duration.ofMinutes(5)));
+
+        // When
+        cache.put(PRODUCT);
+
+        // Then
+        assertThat(cache.get(PRODUCT.id())).isNull();
+    }
+}
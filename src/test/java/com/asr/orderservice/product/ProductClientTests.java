@@ -1,5 +1,10 @@
 package com.asr.orderservice.product;
 
+import com.asr.orderservice.config.NegativeLookupProperties;
+import com.asr.orderservice.config.ProductCacheProperties;
+import com.asr.orderservice.config.ServerTimingProperties;
+import com.asr.orderservice.timing.ServerTimingStages;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +16,9 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
 
 class ProductClientTests {
     private MockWebServer mockWebServer;
@@ -23,7 +31,11 @@ class ProductClientTests {
         var webClient = WebClient.builder()
                 .baseUrl(mockWebServer.url("/").uri().toString())
                 .build();
-        this.productClient = new ProductClient(webClient);
+        var negativeLookupProperties = new NegativeLookupProperties(true, 1024, 4, Duration.ofMinutes(10), false);
+        this.productClient = new ProductClient(webClient,
+                new NotFoundProductFilter(negativeLookupProperties, new SimpleMeterRegistry()),
+                new ProductCache(new ProductCacheProperties(true, 10, Duration.ofMinutes(5))),
+                new ServerTimingStages(new ServerTimingProperties(0.0)));
     }
 
     @Test
@@ -52,4 +64,110 @@ class ProductClientTests {
                         p.price().equals(1.0) && p.units().equals(1L)
                 ).verifyComplete();
     }
+
+    @Test
+    void whenProductNotFound_thenNextLookupSkipsCatalog() {
+        // Given
+        var productId = "64b514da498c2e6567f000a2";
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        StepVerifier.create(productClient.getProduct(productId)).verifyComplete();
+
+        // When
+        Mono<Product> product = productClient.getProduct(productId);
+
+        // Then
+        StepVerifier.create(product).verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenUnitsLeased_thenReturnLeaseWithProduct() {
+        // Given
+        var productId = "64b514da498c2e6567f000a2";
+        var mockResponse = new MockResponse()
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("""
+                        {
+                        "units": 10,
+                        "product": {"id": "%s", "name": "Name", "price": 1, "units": 90}
+                        }
+                        """.formatted(productId));
+        mockWebServer.enqueue(mockResponse);
+
+        // When
+        Mono<ProductLease> lease = productClient.leaseUnits(productId, 50);
+
+        // Then
+        StepVerifier
+                .create(lease)
+                .expectNext(new ProductLease(10L, new Product(productId, "Name", 1.0, 90L)))
+                .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenProductRefreshed_thenNextLookupReadsCache() {
+        // Given
+        var productId = "64b514da498c2e6567f000a2";
+        mockWebServer.enqueue(productResponse(productId));
+
+        StepVerifier.create(productClient.refreshProduct(productId)).expectNextCount(1).verifyComplete();
+
+        // When
+        Mono<Product> product = productClient.getProduct(productId);
+
+        // Then
+        StepVerifier.create(product)
+                .expectNext(new Product(productId, "Name", 1.0, 1L))
+                .verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void whenProductLookedUp_thenItIsNotCached() {
+        // Given
+        var productId = "64b514da498c2e6567f000a2";
+        mockWebServer.enqueue(productResponse(productId));
+        mockWebServer.enqueue(productResponse(productId));
+
+        StepVerifier.create(productClient.getProduct(productId)).expectNextCount(1).verifyComplete();
+
+        // When
+        Mono<Product> product = productClient.getProduct(productId);
+
+        // Then
+        StepVerifier.create(product).expectNextCount(1).verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    @Test
+    void whenRefreshedProductNotFound_thenItIsEvicted() {
+        // Given
+        var productId = "64b514da498c2e6567f000a2";
+        mockWebServer.enqueue(productResponse(productId));
+        mockWebServer.enqueue(new MockResponse().setResponseCode(404));
+
+        StepVerifier.create(productClient.refreshProduct(productId)).expectNextCount(1).verifyComplete();
+
+        // When
+        StepVerifier.create(productClient.refreshProduct(productId)).verifyComplete();
+
+        // Then
+        StepVerifier.create(productClient.getProduct(productId)).verifyComplete();
+        assertThat(mockWebServer.getRequestCount()).isEqualTo(2);
+    }
+
+    private static MockResponse productResponse(String productId) {
+        return new MockResponse()
+                .addHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .setBody("""
+                        {
+                        "id": "%s",
+                        "name": "Name",
+                        "price": 1,
+                        "units": 1
+                        }
+                        """.formatted(productId));
+    }
 }
@@ -0,0 +1,145 @@
+package com.asr.orderservice.timing;
+
+import com.asr.orderservice.config.ServerTimingProperties;
+import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderQueries;
+import com.asr.orderservice.domain.OrderService;
+import com.asr.orderservice.web.OrderController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static com.asr.orderservice.domain.OrderStatus.ACCEPTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class ServerTimingFilterTests {
+    private static final String ORDER_ID = "64b514da498c2e6567f000a2";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final OrderQueries orderQueries = mock(OrderQueries.class);
+
+    @Test
+    @DisplayName("get order when sampled, should return the stage durations")
+    void getOrder_whenSampled_returnServerTiming() {
+        // Given
+        var webTestClient = webTestClient(1.0);
+        var stages = serverTimingStages(1.0);
+        var order = Order.of("64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, ACCEPTED);
+        given(orderService.findByOrderId(ORDER_ID))
+                .willReturn(stages.timed("mongo", Mono.just(order)));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri("/orders/" + ORDER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(ServerTimingFilter.SERVER_TIMING_HEADER, header ->
+                        assertThat(header)
+                                .contains("mongo;dur=")
+                                .contains("serialize;dur=")
+                                .contains("total;dur=")
+                );
+    }
+
+    @Test
+    @DisplayName("get orders when sampled, should return the stage durations")
+    void getOrders_whenSampled_returnServerTiming() {
+        // Given
+        var webTestClient = webTestClient(1.0);
+        var stages = serverTimingStages(1.0);
+        var order = Order.of("64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, ACCEPTED);
+        given(orderService.findAllOrders())
+                .willReturn(stages.timed("mongo", Flux.just(order, order)));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri("/orders")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(ServerTimingFilter.SERVER_TIMING_HEADER, header ->
+                        assertThat(header)
+                                .contains("mongo;dur=")
+                                .contains("serialize;dur=")
+                                .contains("total;dur=")
+                );
+    }
+
+    @Test
+    @DisplayName("request to a path that only starts with /orders, should not be sampled")
+    void getOtherPath_whenSampled_noServerTiming() {
+        // Given
+        var webTestClient = webTestClient(1.0);
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri("/ordersXYZ")
+                .exchange()
+                .expectHeader().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER);
+    }
+
+    @Test
+    @DisplayName("get order when sampling is off, should not return Server-Timing")
+    void getOrder_whenSamplingOff_noServerTiming() {
+        // Given
+        var webTestClient = webTestClient(0.0);
+        var order = Order.of("64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, ACCEPTED);
+        given(orderService.findByOrderId(ORDER_ID))
+                .willReturn(Mono.just(order));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri("/orders/" + ORDER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(ServerTimingFilter.SERVER_TIMING_HEADER);
+    }
+
+    @Test
+    @DisplayName("stage when sampling is off, should return its source untouched")
+    void timed_whenSamplingOff_returnSource() {
+        // Given
+        var stages = serverTimingStages(0.0);
+        var source = Mono.just(1);
+
+        // When
+        var timed = stages.timed("mongo", source);
+
+        // Then
+        assertThat(timed).isSameAs(source);
+    }
+
+    @Test
+    @DisplayName("stage of an unsampled request, should pass its source through")
+    void timed_whenNotSampled_passSourceThrough() {
+        // Given
+        var stages = serverTimingStages(1.0);
+
+        // When
+        var timed = stages.timed("mongo", Mono.just(1));
+
+        // Then
+        StepVerifier.create(timed)
+                .expectNext(1)
+                .verifyComplete();
+    }
+
+    private WebTestClient webTestClient(double samplingRate) {
+        return WebTestClient
+                .bindToController(new OrderController(orderService, orderQueries, serverTimingStages(samplingRate)))
+                .webFilter(new ServerTimingFilter(new ServerTimingProperties(samplingRate)))
+                .build();
+    }
+
+    private static ServerTimingStages serverTimingStages(double samplingRate) {
+        return new ServerTimingStages(new ServerTimingProperties(samplingRate));
+    }
+}
@@ -1,17 +1,27 @@
 package com.asr.orderservice.web;
 
 import com.asr.orderservice.domain.Order;
+import com.asr.orderservice.domain.OrderFields;
+import com.asr.orderservice.domain.OrderQueries;
 import com.asr.orderservice.domain.OrderService;
+import com.asr.orderservice.domain.OrderView;
 import com.asr.orderservice.exception.OrderNotFoundException;
+import com.asr.orderservice.exception.OrderVersionMismatchException;
 import com.asr.orderservice.product.Product;
+import com.asr.orderservice.timing.ServerTimingStages;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockReset;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
 
@@ -20,17 +30,38 @@ import static com.asr.orderservice.domain.OrderStatus.CANCELLED;
 import static com.asr.orderservice.domain.OrderStatus.REJECTED;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.mock;
 
 @WebFluxTest(OrderController.class)
+@Import(ServerTimingStages.class)
 class OrderControllerTests {
     private static final String ORDER_ROOT_API = "/orders";
 
     @Autowired
     private WebTestClient webTestClient;
 
-    @MockBean
+    @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderQueries orderQueries;
+
+    // Plain mock beans instead of @MockBean, which Spring AOT does not support. They are reset
+    // after every test like @MockBean.
+    @TestConfiguration
+    static class OrderMocksConfig {
+        @Bean
+        OrderService orderService() {
+            return mock(OrderService.class, MockReset.withSettings(MockReset.AFTER));
+        }
+
+        @Bean
+        OrderQueries orderQueries() {
+            return mock(OrderQueries.class, MockReset.withSettings(MockReset.AFTER));
+        }
+    }
+
     @Test
     @DisplayName("get orders, should return all orders")
     void getAllOrders() {
@@ -53,6 +84,40 @@ class OrderControllerTests {
                 );
     }
 
+    @Test
+    @DisplayName("get orders with fields, should return only the requested fields")
+    void getOrders_withFields_returnRequestedFields() {
+        // Given
+        var view = new OrderView("64b7a0b7d9492771d6b7ab8a", null, null, null, null, ACCEPTED, null, null, null);
+        given(orderQueries.findAllOrders(OrderFields.parse("id,status")))
+                .willReturn(Flux.just(view));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri(ORDER_ROOT_API + "?fields=id,status")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(view.id())
+                .jsonPath("$[0].status").isEqualTo("ACCEPTED")
+                .jsonPath("$[0].productName").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("get orders with an unknown field, should return 400")
+    void getOrders_withUnknownField_return400() {
+        // When + Then
+        webTestClient
+                .get()
+                .uri(ORDER_ROOT_API + "?fields=id,secret")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).value(message ->
+                        assertThat(message).isEqualTo("Order field 'secret' does not exist.")
+                );
+    }
+
     @Test
     @DisplayName("get order when not exists, should return 404")
     void getOrder_whenNotExists_return404() {
@@ -97,6 +162,67 @@ class OrderControllerTests {
                 );
     }
 
+    @Test
+    @DisplayName("get order when exists, should return its version as ETag")
+    void getOrder_whenExists_returnETag() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        var order = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, ACCEPTED, null, null, 3);
+        given(orderService.findByOrderId(orderId))
+                .willReturn(Mono.just(order));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri(ORDER_ROOT_API + "/" + orderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + orderId + "-3\"");
+    }
+
+    @Test
+    @DisplayName("get order when ETag matches, should return 304 without reading the order")
+    void getOrder_whenETagMatches_return304() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        given(orderQueries.findVersion(orderId))
+                .willReturn(Mono.just(3));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri(ORDER_ROOT_API + "/" + orderId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + orderId + "-3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+        then(orderService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("get order when ETag is outdated, should return the order")
+    void getOrder_whenETagOutdated_returnOrder() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        var order = new Order(orderId, "64b13f81160f6f18fe1fdd49", "Name", 1.0, 1, CANCELLED, null, null, 4);
+        given(orderQueries.findVersion(orderId))
+                .willReturn(Mono.just(4));
+        given(orderService.findByOrderId(orderId))
+                .willReturn(Mono.just(order));
+
+        // When + Then
+        webTestClient
+                .get()
+                .uri(ORDER_ROOT_API + "/" + orderId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + orderId + "-3\"")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + orderId + "-4\"")
+                .expectBody(Order.class).value(actualOrder ->
+                        assertThat(actualOrder.status()).isEqualTo(CANCELLED)
+                );
+    }
+
     @Test
     @DisplayName("submit order, when product available, should accept order")
     void submitOrder_whenProductAvailable_thenAcceptOrder() {
@@ -182,4 +308,59 @@ class OrderControllerTests {
                 );
     }
 
+    @Test
+    @DisplayName("submit order when completed on a non-blocking thread, should encode the response without blocking")
+    void submitOrder_whenCompletedOnNonBlockingThread_shouldNotBlock() {
+        // Given
+        var product = new Product("64b514da498c2e6567f000a2", "Name", 1.0, 1L);
+        var orderRequest = new OrderRequest(product.id(), 1);
+        var expectedOrder = OrderService.buildAcceptedOrder(product, orderRequest.quantity());
+        // The response is written on a parallel thread, BlockHound fails the exchange if anything blocks there.
+        given(orderService.submitOrder(product.id(), orderRequest.quantity()))
+                .willReturn(Mono.just(expectedOrder).publishOn(Schedulers.parallel()));
+
+        // When + Then
+        webTestClient
+                .post()
+                .uri(ORDER_ROOT_API)
+                .bodyValue(orderRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Order.class).value(actualOrder ->
+                        assertThat(actualOrder.status()).isEqualTo(ACCEPTED)
+                );
+    }
+
+    @Test
+    @DisplayName("cancel order when If-Match is outdated, should return 412")
+    void cancelOrder_whenIfMatchOutdated_return412() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+        given(orderService.cancelOrder(orderId, 3))
+                .willReturn(Mono.error(new OrderVersionMismatchException(orderId)));
+
+        // When + Then
+        webTestClient
+                .put()
+                .uri(ORDER_ROOT_API + "/" + orderId)
+                .header(HttpHeaders.IF_MATCH, "\"" + orderId + "-3\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+    }
+
+    @Test
+    @DisplayName("cancel order when If-Match belongs to another order, should return 412")
+    void cancelOrder_whenIfMatchOfAnotherOrder_return412() {
+        // Given
+        var orderId = "64b514da498c2e6567f000a2";
+
+        // When + Then
+        webTestClient
+                .put()
+                .uri(ORDER_ROOT_API + "/" + orderId)
+                .header(HttpHeaders.IF_MATCH, "\"64b13f81160f6f18fe1fdd49-3\"")
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        then(orderService).shouldHaveNoInteractions();
+    }
 }